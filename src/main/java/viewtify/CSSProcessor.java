@@ -21,6 +21,9 @@ import stylist.value.Color;
 
 class CSSProcessor implements PostProcessor {
 
+    /** The version of processing rules. Increment it when the rules are changed. */
+    static final int VERSION = 1;
+
     /** The digit pattern. */
     private static final Pattern HasDigit = Pattern.compile("[-\\.]?\\d+.+");
 
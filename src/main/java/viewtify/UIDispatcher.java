@@ -0,0 +1,217 @@
+/*
+ * Copyright (C) 2024 The VIEWTIFY Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package viewtify;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javafx.animation.AnimationTimer;
+
+/**
+ * Dispatcher of the tasks which are requested to execute in UI thread from other threads. In pulse
+ * mode, the tasks are stored in the lock-free queue and are drained once per animation pulse
+ * within the time budget, instead of posting each task to the event queue.
+ */
+public final class UIDispatcher {
+
+    /** The waiting tasks. */
+    private final ConcurrentLinkedQueue<Runnable> queue = new ConcurrentLinkedQueue();
+
+    /** The number of waiting tasks. */
+    private final AtomicInteger depth = new AtomicInteger();
+
+    /** The latest task for each key. */
+    private final ConcurrentHashMap<Object, Runnable> latest = new ConcurrentHashMap();
+
+    /** The number of the tasks which are discarded by the newer task with the same key. */
+    private final LongAdder conflated = new LongAdder();
+
+    /** The draining state. */
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    /** The pulse mode. */
+    private volatile boolean pulse;
+
+    /** The time budget (ns) to drain per pulse. */
+    private volatile long budget = TimeUnit.MILLISECONDS.toNanos(8);
+
+    /** The elapsed time (ns) of the last drain. */
+    private volatile long drainTime;
+
+    /** The pulse listener which is created lazily because it requires the toolkit. */
+    private AnimationTimer timer;
+
+    /**
+     * Hide constructor.
+     */
+    UIDispatcher() {
+    }
+
+    /**
+     * Enable or disable the pulse mode. This mode is available after the toolkit is started.
+     * 
+     * @param enable
+     * @return Chainable API.
+     */
+    public UIDispatcher pulse(boolean enable) {
+        this.pulse = enable;
+        return this;
+    }
+
+    /**
+     * Check whether the pulse mode is enabled or not.
+     * 
+     * @return
+     */
+    public boolean isPulse() {
+        return pulse;
+    }
+
+    /**
+     * Set the time budget to drain tasks per pulse. The remaining tasks are executed in the next
+     * pulse.
+     * 
+     * @param time
+     * @param unit
+     * @return Chainable API.
+     */
+    public UIDispatcher budget(long time, TimeUnit unit) {
+        this.budget = Math.max(0, unit.toNanos(time));
+        return this;
+    }
+
+    /**
+     * Get the number of waiting tasks.
+     * 
+     * @return
+     */
+    public int queueDepth() {
+        return Math.max(0, depth.get());
+    }
+
+    /**
+     * Get the elapsed time of the last drain.
+     * 
+     * @param unit
+     * @return
+     */
+    public long drainTime(TimeUnit unit) {
+        return unit.convert(drainTime, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Get the number of the tasks which were discarded by the newer task with the same key.
+     * 
+     * @return
+     */
+    public long conflated() {
+        return conflated.sum();
+    }
+
+    /**
+     * Execute the task in UI thread.
+     * 
+     * @param task
+     */
+    void execute(Runnable task) {
+        if (pulse) {
+            queue.add(task);
+            depth.incrementAndGet();
+
+            if (scheduled.compareAndSet(false, true)) {
+                timer().start();
+            }
+        } else {
+            Viewtify.post(task);
+        }
+    }
+
+    /**
+     * Execute the task in UI thread. If the task with the same key is waiting, it is replaced by the
+     * given task.
+     * 
+     * @param key
+     * @param task
+     */
+    void execute(Object key, Runnable task) {
+        if (latest.put(key, task) == null) {
+            execute(() -> {
+                Runnable current = latest.remove(key);
+                if (current != null) {
+                    current.run();
+                }
+            });
+        } else {
+            conflated.increment();
+        }
+    }
+
+    /**
+     * Discard the waiting task with the given key.
+     * 
+     * @param key
+     */
+    void cancel(Object key) {
+        if (latest.remove(key) != null) {
+            conflated.increment();
+        }
+    }
+
+    /**
+     * Get the pulse listener.
+     * 
+     * @return
+     */
+    private synchronized AnimationTimer timer() {
+        if (timer == null) {
+            timer = new AnimationTimer() {
+
+                @Override
+                public void handle(long now) {
+                    drain();
+                }
+            };
+        }
+        return timer;
+    }
+
+    /**
+     * Execute the waiting tasks within the time budget.
+     */
+    private void drain() {
+        long start = System.nanoTime();
+        long limit = start + budget;
+
+        Runnable task;
+        while ((task = queue.poll()) != null) {
+            depth.decrementAndGet();
+            task.run();
+
+            if (limit <= System.nanoTime()) {
+                break;
+            }
+        }
+        drainTime = System.nanoTime() - start;
+
+        if (queue.isEmpty()) {
+            timer.stop();
+            scheduled.set(false);
+
+            // the task may be added after the queue was checked
+            if (!queue.isEmpty() && scheduled.compareAndSet(false, true)) {
+                timer.start();
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -16,20 +16,28 @@ import java.lang.Thread.UncaughtExceptionHandler;
 import java.net.URL;
 import java.nio.channels.FileChannel;
 import java.nio.channels.FileLock;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.StandardOpenOption;
 import java.nio.file.WatchEvent;
+import java.security.MessageDigest;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Queue;
 import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import java.util.function.BooleanSupplier;
@@ -92,7 +100,10 @@ import kiss.Variable;
 import psychopath.Directory;
 import psychopath.File;
 import psychopath.Locator;
+import stylist.StyleDeclarable;
+import stylist.Stylist;
 import stylist.design.DesignScheme;
+import viewtify.WorkerScheduler.Kind;
 import viewtify.keys.ShortcutManager;
 import viewtify.preference.Preferences;
 import viewtify.ui.UIWeb;
@@ -119,8 +130,11 @@ public final class Viewtify {
     /** The dispose on exit. */
     public static final Disposable Terminator = Disposable.empty();
 
-    /** The thread pool. */
-    private static final ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor();
+    /** The scheduler of worker tasks. */
+    private static final WorkerScheduler scheduler = new WorkerScheduler();
+
+    /** The dispatcher of UI tasks. */
+    private static final UIDispatcher dispatcher = new UIDispatcher();
 
     /** Executor for UI Thread. */
     public static final Consumer<Runnable> UIThread = Viewtify::inUI;
@@ -166,6 +180,16 @@ public final class Viewtify {
     /** The managed application stylesheets. */
     private static final CopyOnWriteArrayList<String> stylesheets = new CopyOnWriteArrayList();
 
+    /** The writing process of application stylesheet. */
+    private static volatile CompletableFuture<?> stylesheetWriting = CompletableFuture.completedFuture(null);
+
+    /** The writer of application stylesheet. */
+    private static volatile Runnable stylesheetWriter = () -> {
+    };
+
+    /** The elapsed time of each startup phase. */
+    private static final Map<String, Duration> startupPhases = Collections.synchronizedMap(new LinkedHashMap());
+
     /** The global key state manager. */
     private static final EnumSet<KeyCode> pressed = EnumSet.noneOf(KeyCode.class);
 
@@ -501,7 +525,9 @@ public final class Viewtify {
         initializeOnlyOnce(application.getClass());
 
         // launch application
+        long time = System.nanoTime();
         PlatformImpl.startup(() -> {
+            phase("Toolkit", time);
             toolkitInitialized = true;
 
             activate(application, opener.isPresent());
@@ -514,6 +540,8 @@ public final class Viewtify {
      * @param application The application {@link View} to activate.
      */
     private void activate(View application, boolean isOperner) {
+        long time = System.nanoTime();
+
         // root stage management
         views.add(application);
         mainStage = new Stage();
@@ -528,6 +556,7 @@ public final class Viewtify {
 
         View mainView = isOperner ? I.make(opener.v) : application;
         Scene mainScene = new Scene((Parent) mainView.ui());
+        time = phase("View", time);
 
         if (isOperner) {
             // ================================================
@@ -575,10 +604,12 @@ public final class Viewtify {
 
         // the user initializer must be executed at last
         if (initializer != null) initializer.accept(mainStage, mainScene);
+        time = phase("Window", time);
 
         // show window actually
         mainStage.setScene(mainScene);
         mainStage.show();
+        phase("Show", time);
 
         if (!isHeadless()) {
             mainStage.addEventHandler(WindowEvent.WINDOW_SHOWN, e -> {
@@ -604,6 +635,8 @@ public final class Viewtify {
      */
     private synchronized void initializeOnlyOnce(Class applicationClass) {
         if (stylesheets.size() == 0) {
+            long time = System.nanoTime();
+
             // setting for headless mode
             checkHeadlessMode();
 
@@ -620,25 +653,40 @@ public final class Viewtify {
             // Specify JavaFX cache directory
             System.setProperty("javafx.cachedir", prefs + "/native");
 
+            time = phase("Preference", time);
+
             // How to handle simultaneous application startup
             checkActivationPolicy(prefs);
+            time = phase("Activation Policy", time);
 
             // load extensions in viewtify package
             I.load(Location.class);
 
             // load extensions in application package
             I.load(applicationClass);
+            time = phase("Extension", time);
+
+            // The application stylesheet is generated in parallel with the other startup steps,
+            // it is awaited when the first window applies stylesheets.
+            Class design = scheme;
+            stylesheetWriter = () -> {
+                long start = System.nanoTime();
+                writeApplicationStylesheet(prefs, design);
+                phase("Stylesheet Generation", start);
+            };
+            stylesheetWriting = CompletableFuture.runAsync(stylesheetWriter, task -> inWorker(Kind.IO, task));
 
             // collect stylesheets for application
             AppearanceSetting appearance = Preferences.of(AppearanceSetting.class);
             stylesheets.add(Theme.locate("ui"));
             stylesheets.add(appearance.theme.v.location);
             stylesheets.add(appearance.themeType.v.location);
-            stylesheets.add(Locator.file(CSSProcessor.pretty().scheme(scheme).formatTo(prefs + "/application.css")).externalForm());
+            stylesheets.add(Locator.file(prefs + "/application.css").externalForm());
             stylesheets.add(writeFontStylesheet(null));
+            phase("Stylesheet", time);
 
             // observe stylesheet's modification
-            I.signal(stylesheets)
+            stylesheetWriting.whenComplete((done, error) -> I.signal(stylesheets)
                     .take(uri -> uri.startsWith("file:/"))
                     .map(uri -> Locator.file(uri.substring(6).replace("%20", " ")))
                     .scan(Collectors.groupingBy(File::parent, Collectors.mapping(File::name, Collectors.toList())))
@@ -647,7 +695,103 @@ public final class Viewtify {
                     .flatMap(e -> e.getKey().observe("*.css"))
                     .debounce(300, TimeUnit.MILLISECONDS)
                     .map(change -> change.context().externalForm())
-                    .to(this::reloadStylesheet);
+                    .to(this::reloadStylesheet));
+        }
+    }
+
+    /**
+     * Write the application stylesheet. The generation is skipped when the stored stylesheet was
+     * generated from the same style definitions.
+     * 
+     * @param prefs An application preference root directory.
+     * @param scheme A design scheme.
+     */
+    private static void writeApplicationStylesheet(String prefs, Class<? extends DesignScheme> scheme) {
+        File css = Locator.file(prefs + "/application.css");
+        File hash = Locator.file(prefs + "/application.css.hash");
+        String key = hashStylesheet(scheme);
+
+        if (key != null && css.isPresent() && hash.isPresent() && key.equals(hash.text())) {
+            return;
+        }
+
+        CSSProcessor.pretty().scheme(scheme).formatTo(prefs + "/application.css");
+        if (key != null) hash.text(key);
+    }
+
+    /**
+     * Wait for the application stylesheet. If the background generation failed, it is generated
+     * again on the current thread.
+     */
+    private static synchronized void awaitStylesheet() {
+        try {
+            stylesheetWriting.join();
+        } catch (CompletionException e) {
+            I.error(e.getCause());
+
+            stylesheetWriting = CompletableFuture.completedFuture(null);
+            try {
+                stylesheetWriter.run();
+            } catch (Throwable again) {
+                I.error(again);
+            }
+        }
+    }
+
+    /**
+     * Compute the content hash of the style definitions, the design scheme and the style processors.
+     * 
+     * @param scheme A design scheme.
+     * @return The hash or null when any class file can't be read.
+     */
+    private static String hashStylesheet(Class scheme) {
+        try {
+            List<Class> classes = new ArrayList(I.findAs(StyleDeclarable.class));
+            classes.add(CSSProcessor.class);
+            classes.add(Stylist.class);
+            if (scheme != null) classes.add(scheme);
+            classes.sort(Comparator.comparing(Class::getName));
+
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((CSSProcessor.VERSION + "|" + Stylist.class.getPackage().getImplementationVersion())
+                    .getBytes(StandardCharsets.UTF_8));
+
+            for (Class type : classes) {
+                try (InputStream input = type.getResourceAsStream("/" + type.getName().replace('.', '/') + ".class")) {
+                    if (input == null) {
+                        return null;
+                    }
+                    digest.update(type.getName().getBytes(StandardCharsets.UTF_8));
+                    digest.update(input.readAllBytes());
+                }
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Record the elapsed time of the startup phase.
+     * 
+     * @param name A phase name.
+     * @param start A start time of the phase.
+     * @return The current time.
+     */
+    private static long phase(String name, long start) {
+        long now = System.nanoTime();
+        startupPhases.merge(name, Duration.ofNanos(now - start), Duration::plus);
+        return now;
+    }
+
+    /**
+     * Get the elapsed time of each startup phase in execution order.
+     * 
+     * @return
+     */
+    public static Map<String, Duration> startupReport() {
+        synchronized (startupPhases) {
+            return new LinkedHashMap(startupPhases);
         }
     }
 
@@ -710,9 +854,10 @@ public final class Viewtify {
         String prefs = I.env("PreferenceDirectory");
         File css = Locator.file(prefs + "/font.css");
 
-        // write font rule
-        if (!inTest) {
-            css.text(".root { -fx-font-family : \"" + font.getName() + "\"; -fx-font-size : " + font.getSize() + "px;}");
+        // write font rule only when it is changed
+        String rule = ".root { -fx-font-family : \"" + font.getName() + "\"; -fx-font-size : " + font.getSize() + "px;}";
+        if (!inTest && (css.isAbsent() || !rule.equals(css.text()))) {
+            css.text(rule);
         }
 
         return css.externalForm();
@@ -823,12 +968,38 @@ public final class Viewtify {
         process = handleError(process);
 
         if (Platform.isFxApplicationThread()) {
-            pool.submit(process);
+            scheduler.execute(Kind.IO, process);
         } else {
             process.run();
         }
     }
 
+    /**
+     * Execute task in the worker thread of the specified kind. Unlike {@link #inWorker(Runnable)},
+     * the task is always executed asynchronously even if this method is called in worker thread.
+     * 
+     * @param kind The kind of task.
+     * @param process
+     */
+    public final static void inWorker(Kind kind, Runnable process) {
+        process = handleError(process);
+
+        if (inTest) {
+            process.run();
+        } else {
+            scheduler.execute(Objects.requireNonNull(kind), process);
+        }
+    }
+
+    /**
+     * Get the scheduler of worker tasks.
+     * 
+     * @return
+     */
+    public static WorkerScheduler scheduler() {
+        return scheduler;
+    }
+
     /**
      * Execute task in pooled-background-worker thread.
      * 
@@ -849,15 +1020,30 @@ public final class Viewtify {
         if (Platform.isFxApplicationThread() || inTest) {
             process.run();
         } else {
-            try {
-                Platform.runLater(process::run);
-            } catch (IllegalStateException e) {
-                if (waitingActions == null) {
-                    throw e;
-                } else {
-                    waitingActions.add(process);
-                }
-            }
+            dispatcher.execute(process);
+        }
+    }
+
+    /**
+     * Execute task in UI thread. While the task is waiting, it is replaced by the newer task with
+     * the same key, so only the latest update per target is applied.
+     * 
+     * @param key A conflation key.
+     * @param process
+     */
+    public final static void inUI(Object key, Runnable process) {
+        if (key == null) {
+            inUI(process);
+            return;
+        }
+
+        process = handleError(process);
+
+        if (Platform.isFxApplicationThread() || inTest) {
+            dispatcher.cancel(key);
+            process.run();
+        } else {
+            dispatcher.execute(key, process);
         }
     }
 
@@ -872,6 +1058,49 @@ public final class Viewtify {
         });
     }
 
+    /**
+     * Execute task in UI thread later. Unlike {@link #inUI(Runnable)}, the task is always deferred
+     * even if this method is called in UI thread, so it is suitable for coalescing the frequent
+     * modifications.
+     * 
+     * @param process
+     */
+    public final static void inUILater(Runnable process) {
+        process = handleError(process);
+
+        if (inTest) {
+            process.run();
+        } else {
+            dispatcher.execute(process);
+        }
+    }
+
+    /**
+     * Get the dispatcher of UI tasks.
+     * 
+     * @return
+     */
+    public static UIDispatcher dispatcher() {
+        return dispatcher;
+    }
+
+    /**
+     * Post task to the event queue of UI thread.
+     * 
+     * @param process
+     */
+    static void post(Runnable process) {
+        try {
+            Platform.runLater(process);
+        } catch (IllegalStateException e) {
+            if (waitingActions == null) {
+                throw e;
+            } else {
+                waitingActions.add(process);
+            }
+        }
+    }
+
     /**
      * Error handling in viewtify.
      * 
@@ -1000,6 +1229,7 @@ public final class Viewtify {
         // Applies all stylesheets collected at startup. Any changes made after startup
         // are automatically detected and reapplied at any time.
         // ================================================================
+        awaitStylesheet();
         scene.getStylesheets().addAll(stylesheets);
 
         // apply title
@@ -1459,6 +1689,7 @@ public final class Viewtify {
             phantomStage.setX(-1000);
             phantomStage.setY(-1000);
             phantomStage.setScene(new Scene(new VBox()));
+            awaitStylesheet();
             phantomStage.getScene().getStylesheets().addAll(stylesheets);
             phantomStage.show();
         }
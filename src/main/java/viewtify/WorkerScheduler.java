@@ -0,0 +1,209 @@
+/*
+ * Copyright (C) 2024 The VIEWTIFY Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package viewtify;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Scheduler of the tasks which are executed in worker threads. The blocking tasks are executed on
+ * their own virtual thread, the CPU-bound tasks are executed in the bounded fork-join pool.
+ */
+public final class WorkerScheduler {
+
+    /**
+     * The kind of worker task.
+     */
+    public enum Kind {
+        /** The blocking task such as I/O. */
+        IO,
+
+        /** The CPU-bound task. */
+        CPU;
+    }
+
+    /** The lane for blocking tasks. */
+    private final Lane io = new Lane(Executors.newVirtualThreadPerTaskExecutor());
+
+    /** The lane for CPU-bound tasks. */
+    private final Lane cpu = new Lane(new ForkJoinPool(Runtime.getRuntime().availableProcessors()));
+
+    /**
+     * Hide constructor.
+     */
+    WorkerScheduler() {
+    }
+
+    /**
+     * Configure the number of threads for CPU-bound tasks. The new pool is installed before the
+     * previous pool is shut down, and the running and queued tasks are completed in the previous
+     * pool. The statistics are kept across the change.
+     * 
+     * @param size
+     * @return Chainable API.
+     */
+    public synchronized WorkerScheduler parallelism(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive, but was " + size + ".");
+        }
+
+        cpu.replace(new ForkJoinPool(size));
+
+        return this;
+    }
+
+    /**
+     * Get the number of running tasks.
+     * 
+     * @param kind
+     * @return
+     */
+    public int activeTasks(Kind kind) {
+        return lane(kind).active.get();
+    }
+
+    /**
+     * Get the number of tasks which are waiting to start.
+     * 
+     * @param kind
+     * @return
+     */
+    public int queueLength(Kind kind) {
+        return lane(kind).waiting.get();
+    }
+
+    /**
+     * Get the number of completed tasks.
+     * 
+     * @param kind
+     * @return
+     */
+    public long completedTasks(Kind kind) {
+        return lane(kind).completed.sum();
+    }
+
+    /**
+     * Get the average time from the submission to the start of task.
+     * 
+     * @param kind
+     * @param unit
+     * @return
+     */
+    public long latency(Kind kind, TimeUnit unit) {
+        Lane lane = lane(kind);
+        long started = lane.started.sum();
+        return started == 0 ? 0 : unit.convert(lane.waited.sum() / started, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Execute the task in worker thread.
+     * 
+     * @param kind
+     * @param task
+     */
+    void execute(Kind kind, Runnable task) {
+        lane(kind).execute(task);
+    }
+
+    /**
+     * Select the lane by kind.
+     * 
+     * @param kind
+     * @return
+     */
+    private Lane lane(Kind kind) {
+        return kind == Kind.CPU ? cpu : io;
+    }
+
+    /**
+     * Instrumented executor.
+     */
+    private static class Lane {
+
+        /** The actual executor. */
+        private volatile ExecutorService executor;
+
+        /** The number of running tasks. */
+        private final AtomicInteger active = new AtomicInteger();
+
+        /** The number of waiting tasks. */
+        private final AtomicInteger waiting = new AtomicInteger();
+
+        /** The number of started tasks. */
+        private final LongAdder started = new LongAdder();
+
+        /** The number of completed tasks. */
+        private final LongAdder completed = new LongAdder();
+
+        /** The total waiting time (ns). */
+        private final LongAdder waited = new LongAdder();
+
+        /**
+         * @param executor
+         */
+        private Lane(ExecutorService executor) {
+            this.executor = executor;
+        }
+
+        /**
+         * Execute the task with instrumentation.
+         * 
+         * @param task
+         */
+        private void execute(Runnable task) {
+            long submitted = System.nanoTime();
+            waiting.incrementAndGet();
+
+            Runnable instrumented = () -> {
+                waiting.decrementAndGet();
+                active.incrementAndGet();
+                started.increment();
+                waited.add(System.nanoTime() - submitted);
+
+                try {
+                    task.run();
+                } finally {
+                    active.decrementAndGet();
+                    completed.increment();
+                }
+            };
+
+            while (true) {
+                ExecutorService current = executor;
+                try {
+                    current.execute(instrumented);
+                    return;
+                } catch (RejectedExecutionException e) {
+                    if (current == executor) {
+                        waiting.decrementAndGet();
+                        throw e;
+                    }
+                    // the executor was replaced concurrently, so resubmit to the new one
+                }
+            }
+        }
+
+        /**
+         * Replace the executor, then shut down the previous one gracefully.
+         * 
+         * @param replacement
+         */
+        private void replace(ExecutorService replacement) {
+            ExecutorService previous = executor;
+            executor = replacement;
+            previous.shutdown();
+        }
+    }
+}
\ No newline at end of file
@@ -14,13 +14,23 @@ import java.io.ByteArrayOutputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+
 import kiss.I;
 import kiss.Model;
 import kiss.Signal;
@@ -52,6 +62,28 @@ public class Edito {
     /** The edited event. */
     public final Signal<Boolean> editing = edit.expose.map(x -> !x.isEmpty());
 
+    /** The immutable types. */
+    private static final ClassValue<Boolean> immutables = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            return isImmutable(type, new HashSet());
+        }
+    };
+
+    /** The public clone methods. */
+    private static final ClassValue<MethodHandle> clones = new ClassValue<>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> type) {
+            try {
+                Method method = type.getMethod("clone");
+                method.setAccessible(true);
+                return MethodHandles.lookup().unreflect(method);
+            } catch (Throwable e) {
+                return null;
+            }
+        }
+    };
+
     /**
      * Manage edit state of the specified UI.
      * 
@@ -72,10 +104,14 @@ public class Edito {
      * @param ui
      */
     public <V extends UserInterface & CollectableHelper<V, X>, X> void manageList(V ui, WiseConsumer<List<X>> save) {
-        Viewtify.observing(ui.items())
-                .scan(value -> snapshot(value, x -> ui.items(x), save), Snapshot::update)
-                .takeUntil(stop.expose)
-                .to(snapshot -> edited(ui, snapshot));
+        ObservableList<X> items = ui.items();
+        ListSnapshot<X> snapshot = new ListSnapshot(items, x -> ui.items((List<X>) x), save);
+
+        // The snapshot must receive the modified range before the matching.
+        items.addListener(snapshot);
+        stop.expose.first().to(x -> items.removeListener(snapshot));
+
+        Viewtify.observing(items).map(snapshot::update).takeUntil(stop.expose).to(x -> edited(ui, x));
     }
 
     private void edited(StyleHelper ui, Snapshot snapshot) {
@@ -159,41 +195,6 @@ public class Edito {
         return new Snapshot(value, revert, save);
     }
 
-    /**
-     * Create snapshot of {@link List}.
-     * 
-     * @param <V>
-     * @param value
-     * @param revert
-     * @return
-     */
-    private static <V> Snapshot<List<V>> snapshot(List<V> value, WiseConsumer<List<V>> revert, WiseConsumer<List<V>> save) {
-        return new Snapshot<List<V>>(value, revert, save) {
-            @Override
-            public boolean match() {
-                if (latest.size() == initial.size()) {
-                    for (int i = 0; i < latest.size(); i++) {
-                        if (!Objects.equals(latest.get(i), initial.get(i))) {
-                            return false;
-                        }
-                    }
-                    return true;
-                }
-                return false;
-            }
-
-            @Override
-            protected List<V> clone(List<V> value) {
-                List safe = new ArrayList(value);
-                List copy = new ArrayList();
-                for (Object v : safe) {
-                    copy.add(Edito.clone(v));
-                }
-                return copy;
-            }
-        };
-    }
-
     /**
      * Create the cloned object if avaliable.
      * 
@@ -203,10 +204,18 @@ public class Edito {
      */
     private static <V> V clone(V value) {
         // skip immutable object
-        if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean) {
+        if (value == null || immutables.get(value.getClass())) {
             return value;
         }
 
+        // =================================
+        // Extension based clone
+        // =================================
+        Replicator<V> replicator = I.find(Replicator.class, value.getClass());
+        if (replicator != null) {
+            return replicator.replicate(value);
+        }
+
         // =================================
         // Serializable based clone
         // =================================
@@ -231,8 +240,16 @@ public class Edito {
         // =================================
         // Cloneable based clone
         // =================================
+        // This follows serialization because clone() of the collections is shallow.
         if (value instanceof Cloneable) {
-            // return (V) value.clone();
+            MethodHandle clone = clones.get(value.getClass());
+            if (clone != null) {
+                try {
+                    return (V) clone.invoke(value);
+                } catch (Throwable e) {
+                    throw I.quiet(e);
+                }
+            }
         }
 
         // =================================
@@ -246,6 +263,38 @@ public class Edito {
         throw I.quiet(new CloneNotSupportedException(value.getClass() + " is not cloneable."));
     }
 
+    /**
+     * Check whether the values of the given type can be shared without copy.
+     * 
+     * @param type A target type.
+     * @param visited The record types in checking.
+     * @return
+     */
+    private static boolean isImmutable(Class type, Set<Class> visited) {
+        if (type.isPrimitive() || Enum.class.isAssignableFrom(type) || Number.class.isAssignableFrom(type)) {
+            return true;
+        }
+
+        if (type == String.class || type == Boolean.class || type == Character.class || type.getName().startsWith("java.time.")) {
+            return true;
+        }
+
+        // the record which consists of immutable values only
+        if (type.isRecord()) {
+            if (!visited.add(type)) {
+                return true;
+            }
+
+            for (RecordComponent component : type.getRecordComponents()) {
+                if (!isImmutable(component.getType(), visited)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
     /**
      * Snapshot object.
      */
@@ -305,7 +354,8 @@ public class Edito {
          * Revet to the stored value.
          */
         protected void revert() {
-            revert.accept(initial);
+            // pass the copy to keep the stored value unchanged
+            revert.accept(clone(initial));
         }
 
         /**
@@ -334,4 +384,174 @@ public class Edito {
             return latest.toString();
         }
     }
+
+    /**
+     * Snapshot of {@link List} which tracks the modified indices by the list change events. The
+     * stored baseline shares the items with the list, and an item is copied only when it is first
+     * replaced, so the match compares only the modified indices. An item must be replaced to be
+     * edited (copy-on-write). The item which is modified in place and reported by the update event
+     * keeps the snapshot unmatched until it is saved or reverted, because its previous state is not
+     * recorded.
+     */
+    private static class ListSnapshot<V> extends Snapshot<List<V>> implements ListChangeListener<V> {
+
+        /** The indices which may be modified. */
+        private final BitSet modified = new BitSet();
+
+        /** All indices after this may be shifted. */
+        private int shifted = Integer.MAX_VALUE;
+
+        /** Whether any item was modified in place. */
+        private boolean touched;
+
+        /**
+         * Hide constructor.
+         * 
+         * @param initial
+         * @param revert
+         * @param save
+         */
+        private ListSnapshot(List<V> initial, WiseConsumer<List<V>> revert, WiseConsumer<List<V>> save) {
+            super(initial, revert, save);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void onChanged(Change<? extends V> change) {
+            while (change.next()) {
+                int from = change.getFrom();
+
+                if (change.wasPermutated()) {
+                    modified.set(from, change.getTo());
+                } else if (change.wasUpdated()) {
+                    touched = true;
+                } else if (change.getAddedSize() == change.getRemovedSize()) {
+                    List<? extends V> removed = change.getRemoved();
+                    List<? extends V> added = change.getAddedSubList();
+
+                    for (int i = 0; i < removed.size(); i++) {
+                        V item = removed.get(i);
+
+                        if (item != null && item == added.get(i) && !immutables.get(item.getClass())) {
+                            // the same instance is reported again, it was modified in place
+                            touched = true;
+                        } else if (from + i < shifted) {
+                            ((Baseline<V>) initial).protect(from + i, item);
+                        }
+                    }
+                    modified.set(from, from + added.size());
+                } else {
+                    shifted = Math.min(shifted, from);
+                }
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected boolean match() {
+            int size = latest.size();
+            if (touched || size != initial.size()) {
+                return false;
+            }
+
+            for (int i = shifted; i < size; i++) {
+                if (!same(i)) {
+                    return false;
+                }
+            }
+            shifted = Integer.MAX_VALUE;
+
+            // The matched index is cleared, it will be marked again when it is modified.
+            for (int i = modified.nextSetBit(0); 0 <= i; i = modified.nextSetBit(i + 1)) {
+                if (i < size && !same(i)) {
+                    return false;
+                }
+                modified.clear(i);
+            }
+            return true;
+        }
+
+        /**
+         * Compare the item at the specified index.
+         * 
+         * @param index
+         * @return
+         */
+        private boolean same(int index) {
+            return Objects.equals(latest.get(index), initial.get(index));
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected void revert() {
+            super.revert();
+            touched = false;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected void save() {
+            super.save();
+            modified.clear();
+            shifted = Integer.MAX_VALUE;
+            touched = false;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected List<V> clone(List<V> value) {
+            Baseline<V> baseline = new Baseline(value);
+
+            // pass the copy to keep the stored items unchanged
+            if (value instanceof Baseline<V> stored) {
+                for (int i = stored.copied.nextSetBit(0); 0 <= i; i = stored.copied.nextSetBit(i + 1)) {
+                    baseline.set(i, Edito.clone(stored.get(i)));
+                }
+            }
+            return baseline;
+        }
+    }
+
+    /**
+     * The stored items with the indices of the copied items.
+     */
+    @SuppressWarnings("serial")
+    private static class Baseline<V> extends ArrayList<V> {
+
+        /** The indices of the copied items. */
+        private final BitSet copied = new BitSet();
+
+        /**
+         * @param items
+         */
+        private Baseline(List<V> items) {
+            super(items);
+        }
+
+        /**
+         * Copy the stored item before it is modified outside.
+         * 
+         * @param index An index of the item.
+         * @param item The item which was removed from the list.
+         */
+        private void protect(int index, V item) {
+            if (index < size() && !copied.get(index) && get(index) == item) {
+                V copy = Edito.clone(item);
+                if (copy != item) {
+                    set(index, copy);
+                    copied.set(index);
+                }
+            }
+        }
+    }
 }
\ No newline at end of file
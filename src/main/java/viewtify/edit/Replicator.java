@@ -0,0 +1,28 @@
+/*
+ * Copyright (C) 2024 The VIEWTIFY Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package viewtify.edit;
+
+import kiss.Extensible;
+
+/**
+ * The extension point to copy the edited value for {@link Edito}. Implement it with the value type
+ * as type parameter, then it is used instead of the generic copy (public clone method,
+ * serialization or property based copy).
+ */
+public interface Replicator<T> extends Extensible {
+
+    /**
+     * Create the copy which is not affected by the modification of the given value.
+     * 
+     * @param value A non-null value to copy.
+     * @return The copied value.
+     */
+    T replicate(T value);
+}
\ No newline at end of file
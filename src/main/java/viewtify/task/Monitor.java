@@ -26,6 +26,9 @@ public class Monitor<P> implements WiseConsumer<P> {
     /** The progress listener. */
     private final WiseBiConsumer<Monitor<P>, P> progression;
 
+    /** The detail handler. */
+    private final Consumer<String> detailer;
+
     /** The state of progress. */
     private double completed = 0;
 
@@ -35,9 +38,21 @@ public class Monitor<P> implements WiseConsumer<P> {
      * @param progression
      */
     public Monitor(Consumer<String> messenger, Consumer<Double> percentager, WiseBiConsumer<Monitor<P>, P> progression) {
+        this(messenger, percentager, progression, detail -> {
+        });
+    }
+
+    /**
+     * @param messenger
+     * @param percentager
+     * @param progression
+     * @param detailer
+     */
+    public Monitor(Consumer<String> messenger, Consumer<Double> percentager, WiseBiConsumer<Monitor<P>, P> progression, Consumer<String> detailer) {
         this.messenger = Objects.requireNonNull(messenger);
         this.percentager = Objects.requireNonNull(percentager);
         this.progression = Objects.requireNonNull(progression);
+        this.detailer = Objects.requireNonNull(detailer);
     }
 
     /**
@@ -88,6 +103,25 @@ public class Monitor<P> implements WiseConsumer<P> {
         percentager.accept(this.completed);
     }
 
+    /**
+     * Notify the detail of current progress. The message is not translated.
+     * 
+     * @param detail
+     */
+    public void detail(String detail) {
+        detailer.accept(detail);
+    }
+
+    /**
+     * Notify the progress by the throughput.
+     * 
+     * @param throughput
+     */
+    public void complete(Throughput throughput) {
+        complete(throughput.rate());
+        detail(throughput.toString());
+    }
+
     /**
      * Spawn sub monitor.
      * 
@@ -95,6 +129,6 @@ public class Monitor<P> implements WiseConsumer<P> {
      * @return
      */
     public Monitor<P> spawn(double total) {
-        return new Monitor<P>(messenger, p -> percentager.accept((p * total / 100d) + this.completed), progression);
+        return new Monitor<P>(messenger, p -> percentager.accept((p * total / 100d) + this.completed), progression, detailer);
     }
 }
\ No newline at end of file
@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2024 The VIEWTIFY Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package viewtify.task;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The processed amount of bytes and files of the running task. It is updated from multiple threads.
+ */
+public final class Throughput {
+
+    /** The units of size. */
+    private static final String[] units = {"B", "KB", "MB", "GB", "TB"};
+
+    /** The total bytes. */
+    private final long totalBytes;
+
+    /** The total files. */
+    private final long totalFiles;
+
+    /** The processed bytes. */
+    private final LongAdder bytes = new LongAdder();
+
+    /** The processed files. */
+    private final LongAdder files = new LongAdder();
+
+    /** The start time. (ns) */
+    private final long start = System.nanoTime();
+
+    /**
+     * @param totalBytes The total bytes to process.
+     * @param totalFiles The total files to process.
+     */
+    public Throughput(long totalBytes, long totalFiles) {
+        this.totalBytes = Math.max(0, totalBytes);
+        this.totalFiles = Math.max(0, totalFiles);
+    }
+
+    /**
+     * Record the processed bytes.
+     * 
+     * @param size
+     */
+    public void bytes(long size) {
+        bytes.add(size);
+    }
+
+    /**
+     * Record the processed file.
+     */
+    public void file() {
+        files.increment();
+    }
+
+    /**
+     * Get the completed rate by bytes. (0 - 100)
+     * 
+     * @return
+     */
+    public double rate() {
+        if (totalBytes == 0) {
+            return totalFiles == 0 ? 100 : files.sum() * 100d / totalFiles;
+        }
+        return Math.min(100, bytes.sum() * 100d / totalBytes);
+    }
+
+    /**
+     * Get the processed bytes per second.
+     * 
+     * @return
+     */
+    public double bytesPerSecond() {
+        return bytes.sum() / elapsed();
+    }
+
+    /**
+     * Get the processed files per second.
+     * 
+     * @return
+     */
+    public double filesPerSecond() {
+        return files.sum() / elapsed();
+    }
+
+    /**
+     * Estimate the remaining time from the current throughput.
+     * 
+     * @return
+     */
+    public Duration remaining() {
+        double speed = bytesPerSecond();
+        long rest = totalBytes - bytes.sum();
+        if (rest <= 0 || speed <= 0) {
+            return Duration.ZERO;
+        }
+        return Duration.ofMillis((long) (rest / speed * 1000));
+    }
+
+    /**
+     * Compute the elapsed time in seconds.
+     * 
+     * @return
+     */
+    private double elapsed() {
+        return Math.max(1, System.nanoTime() - start) / 1_000_000_000d;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        double speed = bytesPerSecond();
+        int unit = 0;
+        while (1024 <= speed && unit < units.length - 1) {
+            speed /= 1024;
+            unit++;
+        }
+
+        long seconds = remaining().toSeconds();
+        return String.format("%.1f%s/s  %.0f files/s  %d:%02d", speed, units[unit], filesPerSecond(), seconds / 60, seconds % 60);
+    }
+}
\ No newline at end of file
@@ -13,9 +13,15 @@ import java.math.BigInteger;
 import java.text.DecimalFormat;
 import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.function.Predicate;
+import java.util.Map;
+import java.util.Set;
 
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.geometry.Bounds;
 import javafx.scene.Node;
@@ -27,6 +33,7 @@ import javafx.scene.chart.XYChart.Data;
 import javafx.scene.chart.XYChart.Series;
 import javafx.scene.control.Label;
 import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.Region;
 import javafx.util.StringConverter;
 import kiss.I;
 import kiss.Signal;
@@ -51,6 +58,24 @@ public class UILineChart<X extends Number, Y extends Number> extends AbstractCha
     /** The label formmater for axis-y. */
     private Formatter formatY = formatX;
 
+    /** The distance (px) to look for the hovered line point. */
+    private static final double HOVER_RADIUS = 8;
+
+    /** The x-sorted point index for each series. */
+    private final Map<Series<X, Y>, Track<X, Y>> tracks = new HashMap();
+
+    /** The hovered points which are shown temporarily in decimated series. */
+    private final Map<Data<X, Y>, Series<X, Y>> inserted = new HashMap();
+
+    /** The decimation mode. */
+    private boolean decimation;
+
+    /** The maximum number of points in each series. */
+    private int window;
+
+    /** The rendering state. */
+    private boolean rendering;
+
     /**
      * @param view
      */
@@ -59,6 +84,25 @@ public class UILineChart<X extends Number, Y extends Number> extends AbstractCha
 
         root.getChildren().add(title);
         back = ui.lookup(".chart-plot-background");
+
+        if (back instanceof Region region) {
+            region.widthProperty().addListener(o -> requestRendering());
+        }
+        if (ui.getXAxis() instanceof NumberAxis axis) {
+            axis.lowerBoundProperty().addListener(o -> requestRendering());
+            axis.upperBoundProperty().addListener(o -> requestRendering());
+        }
+
+        // release the point index of the removed series
+        ui.getData().addListener((ListChangeListener<Series<X, Y>>) c -> {
+            while (c.next()) {
+                for (Series<X, Y> removed : c.getRemoved()) {
+                    if (!ui.getData().contains(removed)) {
+                        tracks.remove(removed);
+                    }
+                }
+            }
+        });
     }
 
     /**
@@ -113,7 +157,45 @@ public class UILineChart<X extends Number, Y extends Number> extends AbstractCha
     }
 
     /**
-     * Set data.
+     * Render each series with at most two points (min and max) per pixel column of the plot area
+     * instead of creating a node for every point. The hover lookup still uses all points. This
+     * setting is applied to all series including the existing ones.
+     * 
+     * @param enable
+     * @return
+     */
+    public UILineChart<X, Y> decimate(boolean enable) {
+        if (decimation != enable) {
+            this.decimation = enable;
+
+            if (enable) {
+                ui.setAnimated(false);
+                requestRendering();
+            } else {
+                Viewtify.inUI(() -> tracks.forEach((series, track) -> show(series, track.points)));
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Limit the number of points in each series. When new points overflow, the oldest points are
+     * removed together. This setting is applied to all series including the existing ones.
+     * 
+     * @param size A maximum number of points. Zero or negative value means unlimited.
+     * @return
+     */
+    public UILineChart<X, Y> window(int size) {
+        this.window = size;
+
+        if (0 < size) {
+            Viewtify.inUI(() -> tracks.forEach(this::trim));
+        }
+        return this;
+    }
+
+    /**
+     * Set data. The emitted points are buffered and appended to the series once per pulse.
      * 
      * @param data
      * @return
@@ -123,27 +205,112 @@ public class UILineChart<X extends Number, Y extends Number> extends AbstractCha
         XYChart.Series<X, Y> series = new XYChart.Series();
         series.setName(name);
 
+        Track<X, Y> track = new Track(new ArrayList());
+        List<Data<X, Y>> pending = new ArrayList();
+
         Viewtify.inUI(() -> {
             // build data source
             ui.getData().add(series);
+            tracks.put(series, track);
 
             // build tooltip UI
             Label label = createTooltipLabel(root.getChildren().size() - 1);
             root.getChildren().add(label);
         });
 
-        data.on(Viewtify.UIThread).to(x -> {
-            // update data source
-            series.getData().add(x);
+        data.to(x -> {
+            boolean first;
+            synchronized (pending) {
+                first = pending.isEmpty();
+                pending.add(x);
+            }
 
-            // initialize tooltip label
-            Node node = x.getNode();
-            node.setVisible(false);
-            node.setManaged(false);
+            if (first) {
+                Viewtify.inUILater(() -> {
+                    List<Data<X, Y>> batch;
+                    synchronized (pending) {
+                        batch = new ArrayList(pending);
+                        pending.clear();
+                    }
+
+                    // update data source
+                    track.add(batch);
+                    if (!decimation) {
+                        series.getData().addAll(batch);
+                        batch.forEach(this::hideLinePoint);
+                    }
+                    trim(series, track);
+                });
+            }
         }, view);
         return this;
     }
 
+    /**
+     * Remove the oldest points which overflow the window from the series.
+     * 
+     * @param series A target series.
+     * @param track The points of the series.
+     */
+    private void trim(Series<X, Y> series, Track<X, Y> track) {
+        if (0 < window) {
+            track.trim(window);
+        }
+
+        if (decimation) {
+            requestRendering();
+        } else {
+            // the shown points are appended in the same order, so follow the trimmed points
+            List<Data<X, Y>> shown = series.getData();
+            int excess = shown.size() - track.points.size();
+            if (0 < excess) {
+                shown.subList(0, excess).clear();
+            }
+        }
+    }
+
+    /**
+     * Request to render all decimated series at the next pulse.
+     */
+    private void requestRendering() {
+        if (decimation && !rendering) {
+            rendering = true;
+            Viewtify.inUILater(this::render);
+        }
+    }
+
+    /**
+     * Render all decimated series.
+     */
+    private void render() {
+        rendering = false;
+
+        int buckets = back instanceof Region region && 0 < region.getWidth() ? (int) region.getWidth() : 1024;
+        NumberAxis axis = ui.getXAxis() instanceof NumberAxis x && !x.isAutoRanging() ? x : null;
+
+        for (Map.Entry<Series<X, Y>, Track<X, Y>> entry : tracks.entrySet()) {
+            Series<X, Y> series = entry.getKey();
+            Track<X, Y> track = entry.getValue();
+            if (track.points.isEmpty()) {
+                continue;
+            }
+
+            show(series, axis == null ? track.decimate(track.min(), track.max(), buckets)
+                    : track.decimate(axis.getLowerBound(), axis.getUpperBound(), buckets));
+        }
+    }
+
+    /**
+     * Update the displayed points of the series in place, so only the nodes of the newly shown
+     * points are created.
+     * 
+     * @param series A target series.
+     * @param points The x-sorted points to show.
+     */
+    private void show(Series<X, Y> series, List<Data<X, Y>> points) {
+        Track.patch(series.getData(), points).forEach(this::hideLinePoint);
+    }
+
     /**
      * Set data range.
      * 
@@ -186,42 +353,47 @@ public class UILineChart<X extends Number, Y extends Number> extends AbstractCha
         hideLinePoint();
 
         NumberAxis axisX = (NumberAxis) ui.getXAxis();
-        double valueX = axisX.getValueForDisplay(e.getX() - (inner.getMinX() - outer.getMinX())).doubleValue();
+        double displayX = e.getX() - (inner.getMinX() - outer.getMinX());
+        double valueX = axisX.getValueForDisplay(displayX).doubleValue();
+        double tolerance = Math.abs(axisX.getValueForDisplay(displayX + HOVER_RADIUS).doubleValue() - valueX);
 
         // update tooltip title
         title.setText(formatX.toString(valueX));
 
-        root: for (int i = 0; i < ui.getData().size(); i++) {
+        for (int i = 0; i < ui.getData().size(); i++) {
             Series<X, Y> series = ui.getData().get(i);
-            ObservableList<Data<X, Y>> items = series.getData();
-            if (items.isEmpty()) {
+            Track<X, Y> track = tracks.get(series);
+            if (track == null || track.points.isEmpty()) {
                 continue;
             }
 
             Label label = (Label) root.getChildren().get(i + 1);
-            Predicate<X> matcher;
-            Class type = items.get(0).getXValue().getClass();
-            if (type == Integer.class || type == Long.class || type == BigInteger.class) {
-                matcher = v -> v.longValue() == Math.round(valueX);
-            } else {
-                matcher = v -> v.doubleValue() == valueX;
-            }
-
-            for (Data<X, Y> data : series.getData()) {
-                if (matcher.test(data.getXValue())) {
-                    // update tooltip label
-                    label.setText(series.getName() + "   " + formatY.toString(data.getYValue()));
+            Data<X, Y> data = track.nearest(valueX);
+            X x = data.getXValue();
+            double distance = Math.abs(x.doubleValue() - valueX);
+
+            if (x instanceof Integer || x instanceof Long || x instanceof BigInteger ? distance <= 0.5 : distance <= tolerance) {
+                // update tooltip label
+                label.setText(series.getName() + "   " + formatY.toString(data.getYValue()));
+
+                // show line point, the decimated series may not display the hovered point
+                Node node = data.getNode();
+                if (node == null && decimation) {
+                    List<Data<X, Y>> shown = series.getData();
+                    shown.add(Track.search(shown, x.doubleValue()), data);
+                    inserted.put(data, series);
+                    hideLinePoint(data);
+                    node = data.getNode();
+                }
 
-                    // show line point
-                    Node node = data.getNode();
+                if (node != null) {
                     node.setVisible(true);
                     hovers.add(node);
-                    continue root;
                 }
+            } else {
+                // clear tooltip label
+                label.setText(series.getName() + "   " + formatY.toString(0));
             }
-
-            // clear tooltip label
-            label.setText(series.getName() + "   " + formatY.toString(0));
         }
 
         return super.showTooltip(e);
@@ -244,6 +416,276 @@ public class UILineChart<X extends Number, Y extends Number> extends AbstractCha
             hover.setVisible(false);
         }
         hovers.clear();
+
+        inserted.forEach((data, series) -> series.getData().remove(data));
+        inserted.clear();
+    }
+
+    /**
+     * Hide the line point of the given data.
+     * 
+     * @param data
+     */
+    private void hideLinePoint(Data<X, Y> data) {
+        Node node = data.getNode();
+        if (node != null) {
+            node.setVisible(false);
+            node.setManaged(false);
+        }
+    }
+
+    /**
+     * The x-sorted point index of the series.
+     */
+    static final class Track<X extends Number, Y extends Number> {
+
+        /** The x-axis order. */
+        private static final Comparator<Data<? extends Number, ?>> ORDER = Comparator.comparingDouble(d -> d.getXValue().doubleValue());
+
+        /** All points in insertion order. */
+        final List<Data<X, Y>> points;
+
+        /** The x-sorted points which is built lazily when the insertion order is not ascending. */
+        private List<Data<X, Y>> sorted;
+
+        /** The ascending state of the insertion order. */
+        private boolean ascending = true;
+
+        /** The maximum x value. */
+        private double last = Double.NEGATIVE_INFINITY;
+
+        /**
+         * @param points The actual point store.
+         */
+        Track(List<Data<X, Y>> points) {
+            this.points = points;
+        }
+
+        /**
+         * Append points.
+         * 
+         * @param added
+         */
+        void add(List<Data<X, Y>> added) {
+            for (Data<X, Y> data : added) {
+                double x = data.getXValue().doubleValue();
+                if (x < last) {
+                    ascending = false;
+                } else {
+                    last = x;
+                }
+            }
+            sorted = null;
+            points.addAll(added);
+        }
+
+        /**
+         * Remove the oldest points to fit the given size.
+         * 
+         * @param size
+         */
+        void trim(int size) {
+            int excess = points.size() - size;
+            if (0 < excess) {
+                points.subList(0, excess).clear();
+                sorted = null;
+
+                if (!ascending) {
+                    last = Double.NEGATIVE_INFINITY;
+                    for (Data<X, Y> data : points) {
+                        last = Math.max(last, data.getXValue().doubleValue());
+                    }
+                }
+            }
+        }
+
+        /**
+         * Get the minimum x value.
+         * 
+         * @return
+         */
+        double min() {
+            return sorted().get(0).getXValue().doubleValue();
+        }
+
+        /**
+         * Get the maximum x value.
+         * 
+         * @return
+         */
+        double max() {
+            return last;
+        }
+
+        /**
+         * Get the x-sorted points.
+         * 
+         * @return
+         */
+        private List<Data<X, Y>> sorted() {
+            if (ascending) {
+                return points;
+            }
+
+            if (sorted == null) {
+                sorted = new ArrayList(points);
+                sorted.sort(ORDER);
+            }
+            return sorted;
+        }
+
+        /**
+         * Find the first index whose x value is equal or greater than the given value.
+         * 
+         * @param list
+         * @param x
+         * @return
+         */
+        private static int search(List<? extends Data<? extends Number, ?>> list, double x) {
+            int low = 0;
+            int high = list.size();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (list.get(mid).getXValue().doubleValue() < x) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Find the nearest point by x value.
+         * 
+         * @param x
+         * @return The nearest point or null when there is no point.
+         */
+        Data<X, Y> nearest(double x) {
+            List<Data<X, Y>> list = sorted();
+            int size = list.size();
+            if (size == 0) {
+                return null;
+            }
+
+            int index = search(list, x);
+            if (index == 0) {
+                return list.get(0);
+            } else if (index == size) {
+                return list.get(size - 1);
+            } else {
+                Data<X, Y> before = list.get(index - 1);
+                Data<X, Y> after = list.get(index);
+                return x - before.getXValue().doubleValue() <= after.getXValue().doubleValue() - x ? before : after;
+            }
+        }
+
+        /**
+         * Update the shown list to the given x-sorted points in place. The retained points keep
+         * their position and nodes, and only the missing points are inserted.
+         * 
+         * @param shown The displayed points.
+         * @param next The points to display.
+         * @return The inserted points.
+         */
+        static <D> List<D> patch(List<D> shown, List<D> next) {
+            Set<D> retained = Collections.newSetFromMap(new IdentityHashMap(next.size()));
+            retained.addAll(next);
+            shown.removeIf(item -> !retained.contains(item));
+
+            List<D> inserted = new ArrayList();
+            int index = 0;
+            int i = 0;
+            while (i < next.size()) {
+                if (index < shown.size() && shown.get(index) == next.get(i)) {
+                    index++;
+                    i++;
+                } else {
+                    // insert the run of missing points at once
+                    int end = i + 1;
+                    while (end < next.size() && (index >= shown.size() || shown.get(index) != next.get(end))) {
+                        end++;
+                    }
+                    List<D> run = next.subList(i, end);
+                    shown.addAll(index, run);
+                    inserted.addAll(run);
+                    index += run.size();
+                    i = end;
+                }
+            }
+
+            // the retained points were not in the same order, so replace all
+            if (shown.size() != next.size()) {
+                if (shown instanceof ObservableList<D> observable) {
+                    observable.setAll(next);
+                } else {
+                    shown.clear();
+                    shown.addAll(next);
+                }
+                return new ArrayList(next);
+            }
+            return inserted;
+        }
+
+        /**
+         * Decimate the points in the given range into the min and max points of each bucket. The
+         * nearest outer points are kept to draw the line to the edge.
+         * 
+         * @param from The start of range.
+         * @param to The end of range.
+         * @param buckets The number of buckets.
+         * @return
+         */
+        List<Data<X, Y>> decimate(double from, double to, int buckets) {
+            List<Data<X, Y>> list = sorted();
+            int start = search(list, from);
+            int end = search(list, Math.nextUp(to));
+            int head = Math.max(0, start - 1);
+            int tail = Math.min(list.size(), end + 1);
+
+            if (end - start <= buckets * 2 || to <= from) {
+                return new ArrayList(list.subList(head, tail));
+            }
+
+            List<Data<X, Y>> decimated = new ArrayList(buckets * 2 + 2);
+            if (head < start) {
+                decimated.add(list.get(head));
+            }
+
+            double width = (to - from) / buckets;
+            int index = start;
+            while (index < end) {
+                double bucket = Math.floor((list.get(index).getXValue().doubleValue() - from) / width);
+                double limit = bucket < buckets - 1 ? from + (bucket + 1) * width : Double.POSITIVE_INFINITY;
+                int min = index;
+                int max = index;
+                double minY = list.get(index).getYValue().doubleValue();
+                double maxY = minY;
+
+                while (++index < end && list.get(index).getXValue().doubleValue() < limit) {
+                    double y = list.get(index).getYValue().doubleValue();
+                    if (y < minY) {
+                        minY = y;
+                        min = index;
+                    } else if (maxY < y) {
+                        maxY = y;
+                        max = index;
+                    }
+                }
+
+                if (min == max) {
+                    decimated.add(list.get(min));
+                } else {
+                    decimated.add(list.get(Math.min(min, max)));
+                    decimated.add(list.get(Math.max(min, max)));
+                }
+            }
+
+            if (end < tail) {
+                decimated.add(list.get(end));
+            }
+            return decimated;
+        }
     }
 
     /**
@@ -11,11 +11,15 @@ package viewtify.ui;
 
 import java.lang.ref.WeakReference;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 
 import javafx.collections.ObservableList;
 import javafx.scene.Node;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.control.Tab;
 import javafx.scene.layout.StackPane;
 
@@ -24,6 +28,7 @@ import kiss.Signal;
 import kiss.Variable;
 import kiss.WiseFunction;
 import viewtify.Viewtify;
+import viewtify.WorkerScheduler.Kind;
 import viewtify.ui.helper.ContextMenuHelper;
 import viewtify.ui.helper.DisableHelper;
 import viewtify.ui.helper.LabelHelper;
@@ -50,6 +55,9 @@ public class UITab extends Tab
     /** The translatable text. */
     private static final Variable<String> CloseAllTabs = I.translate("Close all tabs");
 
+    /** The translatable text. */
+    private static final Variable<String> LoadingFailed = I.translate("Failed to load this tab.");
+
     /** Cache to find tab node. */
     private static final WiseFunction<Node, Object> findTab;
 
@@ -73,6 +81,9 @@ public class UITab extends Tab
     /** Tab state. */
     private final AtomicBoolean loaded = new AtomicBoolean();
 
+    /** The loading mode. */
+    private boolean async;
+
     /** The actual contents. */
     View contents;
 
@@ -170,6 +181,29 @@ public class UITab extends Tab
         return this;
     }
 
+    /**
+     * Set contents which is built in worker thread. The placeholder is displayed while building,
+     * then the finished node tree is attached at once.
+     * 
+     * @param contents
+     * @return
+     */
+    public final UITab contentsAsync(Class<? extends View> contents) {
+        return contentsAsync(tab -> I.make(contents));
+    }
+
+    /**
+     * Set contents which is built in worker thread. The placeholder is displayed while building,
+     * then the finished node tree is attached at once.
+     * 
+     * @param contents
+     * @return
+     */
+    public final UITab contentsAsync(Function<UITab, View> contents) {
+        async = true;
+        return contentsLazy(contents);
+    }
+
     /**
      * Make this tab closable.
      * 
@@ -217,9 +251,90 @@ public class UITab extends Tab
      */
     public final void load() {
         if (viewBuilder != null && loaded.getAndSet(true) == false) {
-            contents = viewBuilder.apply(this);
-            contents.initializeLazy(parent);
-            setContent(contents.ui());
+            if (async) {
+                Function<UITab, View> builder = viewBuilder;
+                setContent(new StackPane(new ProgressIndicator()));
+
+                Viewtify.inWorker(Kind.CPU, () -> {
+                    View view = null;
+                    List<View> initializers = new ArrayList();
+                    try {
+                        // The node which is not attached to any scene can be built in other thread.
+                        view = builder.apply(this);
+                        View.buildOffUI(view, parent, initializers);
+                    } catch (Throwable e) {
+                        I.error(e);
+
+                        // Some controls require UI thread, so finish the same view there.
+                        View built = view;
+                        Viewtify.inUI(() -> {
+                            if (viewBuilder == null) {
+                                // this tab was disposed while building
+                                if (built != null) built.dispose();
+                            } else {
+                                try {
+                                    attach(built != null ? built : builder.apply(this), initializers);
+                                } catch (Throwable error) {
+                                    I.error(error);
+                                    fail();
+                                }
+                            }
+                        });
+                        return;
+                    }
+                    View built = view;
+                    Viewtify.inUI(() -> {
+                        try {
+                            attach(built, initializers);
+                        } catch (Throwable error) {
+                            I.error(error);
+                            fail();
+                        }
+                    });
+                });
+            } else {
+                attach(viewBuilder.apply(this), List.of());
+            }
+        }
+    }
+
+    /**
+     * Replace the placeholder by the error state. The contents are built again at the next load.
+     */
+    private void fail() {
+        if (viewBuilder != null) {
+            setContent(new StackPane(new Label(LoadingFailed.v)));
+            loaded.set(false);
+        }
+    }
+
+    /**
+     * Attach the built contents, then initialize the views whose initialization was held back while
+     * building.
+     * 
+     * @param view
+     * @param initializers
+     */
+    private void attach(View view, List<View> initializers) {
+        if (async && viewBuilder == null) {
+            // this tab was disposed while building
+            view.dispose();
+            return;
+        }
+
+        Node node;
+        try {
+            view.initializeLazy(parent);
+            node = view.ui();
+        } catch (Throwable e) {
+            view.dispose();
+            throw I.quiet(e);
+        }
+
+        contents = view;
+        setContent(node);
+        if (!initializers.isEmpty()) {
+            Viewtify.inUILater(() -> initializers.forEach(View::initialize));
         }
     }
 
@@ -9,13 +9,23 @@
  */
 package viewtify.ui;
 
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
-import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
+import javafx.beans.InvalidationListener;
+import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
 import javafx.scene.Node;
 import javafx.scene.control.TableCell;
@@ -44,6 +54,9 @@ public class UITableColumn<RowV, ColumnV>
     /** The value provider utility. */
     private TypeMappingProvider mappingProvider;
 
+    /** The signal subscription engine. */
+    private SignalEngine signals;
+
     /**
      * Enchanced view.
      * 
@@ -52,7 +65,7 @@ public class UITableColumn<RowV, ColumnV>
     public UITableColumn(View view, Class<RowV> rowType, Class<ColumnV> columnType) {
         super(new TableColumn(), rowType, columnType);
 
-        ui.setCellValueFactory(v -> new SmartProperty(v.getValue()));
+        ui.setCellValueFactory(v -> new ObjectConstant(v.getValue()));
     }
 
     /**
@@ -101,19 +114,44 @@ public class UITableColumn<RowV, ColumnV>
      */
     public UITableColumn<RowV, ColumnV> modelByProperty(Function<RowV, ObservableValue<ColumnV>> provider) {
         if (provider != null) {
-            ui.setCellValueFactory(new Callback<>() {
-
-                private final WeakHashMap<RowV, ObservableValue<ColumnV>> properties = new WeakHashMap();
-
-                @Override
-                public synchronized ObservableValue<ColumnV> call(CellDataFeatures<RowV, ColumnV> cellData) {
-                    return properties.computeIfAbsent(cellData.getValue(), provider::apply);
-                }
-            });
+            ui.setCellValueFactory(new CellCache(provider));
         }
         return this;
     }
 
+    /**
+     * Add value provider for the primitive int column. The value is boxed only once per row and
+     * the cached cell value returns the same instance.
+     * 
+     * @param provider
+     * @return
+     */
+    public UITableColumn<RowV, ColumnV> modelByInt(ToIntFunction<RowV> provider) {
+        return modelByProperty(row -> (ObservableValue) new ObjectConstant(provider.applyAsInt(row)));
+    }
+
+    /**
+     * Add value provider for the primitive long column. The value is boxed only once per row and
+     * the cached cell value returns the same instance.
+     * 
+     * @param provider
+     * @return
+     */
+    public UITableColumn<RowV, ColumnV> modelByLong(ToLongFunction<RowV> provider) {
+        return modelByProperty(row -> (ObservableValue) new ObjectConstant(provider.applyAsLong(row)));
+    }
+
+    /**
+     * Add value provider for the primitive double column. The value is boxed only once per row and
+     * the cached cell value returns the same instance.
+     * 
+     * @param provider
+     * @return
+     */
+    public UITableColumn<RowV, ColumnV> modelByDouble(ToDoubleFunction<RowV> provider) {
+        return modelByProperty(row -> (ObservableValue) new ObjectConstant(provider.applyAsDouble(row)));
+    }
+
     /**
      * Add value provider.
      * 
@@ -137,14 +175,30 @@ public class UITableColumn<RowV, ColumnV>
      */
     public UITableColumn<RowV, ColumnV> modelBySignal(WiseFunction<RowV, Signal<ColumnV>> mapper) {
         if (mapper != null) {
-            modelByProperty(v -> mapper.apply(v)
-                    .subscribeOn(Viewtify.WorkerThread)
-                    .on(Viewtify.UIThread)
-                    .to(new SmartProperty(), SmartProperty::set));
+            modelByProperty(signals = new SignalEngine(mapper));
         }
         return this;
     }
 
+    /**
+     * Get the number of the live subscriptions by {@link #modelBySignal(WiseFunction)}. Only the
+     * rows which are displayed currently are subscribed.
+     * 
+     * @return
+     */
+    public int liveSubscriptions() {
+        return signals == null ? 0 : signals.subscriptions.get();
+    }
+
+    /**
+     * Get the number of the signal values which are waiting for the next UI update.
+     * 
+     * @return
+     */
+    public int queueDepth() {
+        return signals == null ? 0 : Math.max(0, signals.depth.get());
+    }
+
     /**
      * Add value provider.
      * 
@@ -193,6 +247,337 @@ public class UITableColumn<RowV, ColumnV>
         }
     }
 
+    /**
+     * Column-level subscription engine for {@link #modelBySignal(WiseFunction)}. The signal of
+     * each row is subscribed while any cell listens to its value, and the values emitted in
+     * worker threads are applied at once in the next pulse.
+     */
+    private class SignalEngine implements Function<RowV, ObservableValue<ColumnV>> {
+
+        /** The signal provider. */
+        private final WiseFunction<RowV, Signal<ColumnV>> mapper;
+
+        /** The values waiting for update. */
+        private final ConcurrentLinkedQueue<SignalValue> queue = new ConcurrentLinkedQueue();
+
+        /** The number of waiting values. */
+        private final AtomicInteger depth = new AtomicInteger();
+
+        /** The number of live subscriptions. */
+        private final AtomicInteger subscriptions = new AtomicInteger();
+
+        /**
+         * @param mapper
+         */
+        private SignalEngine(WiseFunction<RowV, Signal<ColumnV>> mapper) {
+            this.mapper = mapper;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public ObservableValue<ColumnV> apply(RowV row) {
+            return new SignalValue(row);
+        }
+
+        /**
+         * Apply all waiting values.
+         */
+        private void flush() {
+            SignalValue value;
+            while ((value = queue.poll()) != null) {
+                depth.decrementAndGet();
+                value.queued.set(false);
+                value.set(value.latest);
+            }
+        }
+
+        /**
+         * The row value which is backed by signal.
+         */
+        private class SignalValue extends SmartProperty<ColumnV> {
+
+            /** The row which must not be held strongly to expunge the cached value. */
+            private final WeakReference<RowV> row;
+
+            /** The queued state. */
+            private final AtomicBoolean queued = new AtomicBoolean();
+
+            /** The latest emitted value. */
+            private volatile ColumnV latest;
+
+            /** The number of listeners. */
+            private int listeners;
+
+            /** The current subscription. */
+            private Disposable disposer;
+
+            /**
+             * @param row
+             */
+            private SignalValue(RowV row) {
+                this.row = new WeakReference(row);
+            }
+
+            /**
+             * Receive the emitted value in worker thread.
+             * 
+             * @param value
+             */
+            private void emit(ColumnV value) {
+                latest = value;
+
+                if (queued.compareAndSet(false, true)) {
+                    queue.add(this);
+
+                    if (depth.getAndIncrement() == 0) {
+                        Viewtify.inUILater(SignalEngine.this::flush);
+                    }
+                }
+            }
+
+            /**
+             * Start subscription when the first listener is added.
+             */
+            private synchronized void listen() {
+                if (listeners++ == 0) {
+                    RowV value = row.get();
+                    if (value != null) {
+                        subscriptions.incrementAndGet();
+                        disposer = mapper.apply(value).subscribeOn(Viewtify.WorkerThread).to(this::emit);
+                    }
+                }
+            }
+
+            /**
+             * Stop subscription when the last listener is removed.
+             */
+            private synchronized void unlisten() {
+                if (0 < listeners && --listeners == 0 && disposer != null) {
+                    subscriptions.decrementAndGet();
+                    disposer.dispose();
+                    disposer = null;
+                }
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void addListener(ChangeListener<? super ColumnV> listener) {
+                super.addListener(listener);
+                listen();
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void removeListener(ChangeListener<? super ColumnV> listener) {
+                super.removeListener(listener);
+                unlisten();
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void addListener(InvalidationListener listener) {
+                super.addListener(listener);
+                listen();
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void removeListener(InvalidationListener listener) {
+                super.removeListener(listener);
+                unlisten();
+            }
+        }
+    }
+
+    /**
+     * Cell value cache which is keyed by row identity and holds the row weakly. The lookup doesn't
+     * need any lock, the entry of the collected row is expunged on the next lookup.
+     */
+    private static class CellCache<R, V> implements Callback<CellDataFeatures<R, V>, ObservableValue<V>> {
+
+        /** The cached values. */
+        private final ConcurrentHashMap<Object, ObservableValue<V>> values = new ConcurrentHashMap();
+
+        /** The collected rows. */
+        private final ReferenceQueue<R> collected = new ReferenceQueue();
+
+        /** The value provider. */
+        private final Function<R, ObservableValue<V>> provider;
+
+        /**
+         * @param provider
+         */
+        private CellCache(Function<R, ObservableValue<V>> provider) {
+            this.provider = provider;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public ObservableValue<V> call(CellDataFeatures<R, V> cellData) {
+            R row = cellData.getValue();
+            if (row == null) {
+                return provider.apply(row);
+            }
+
+            Object key;
+            while ((key = collected.poll()) != null) {
+                values.remove(key);
+            }
+
+            ObservableValue<V> value = values.get(new Lookup(row));
+            if (value == null) {
+                value = provider.apply(row);
+
+                ObservableValue<V> previous = values.putIfAbsent(new Key(row, collected), value);
+                if (previous != null) {
+                    value = previous;
+                }
+            }
+            return value;
+        }
+
+        /**
+         * The weak identity key.
+         */
+        private static class Key<R> extends WeakReference<R> {
+
+            /** The identity hash of the referent. */
+            private final int hash;
+
+            /**
+             * @param row
+             * @param queue
+             */
+            private Key(R row, ReferenceQueue<R> queue) {
+                super(row, queue);
+                this.hash = System.identityHashCode(row);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public int hashCode() {
+                return hash;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public boolean equals(Object obj) {
+                if (this == obj) {
+                    return true;
+                }
+
+                Object row = get();
+                return row != null && (obj instanceof Key key ? row == key.get() : obj instanceof Lookup lookup && row == lookup.row);
+            }
+        }
+
+        /**
+         * The strong identity key for lookup.
+         */
+        private static class Lookup {
+
+            /** The row. */
+            private final Object row;
+
+            /**
+             * @param row
+             */
+            private Lookup(Object row) {
+                this.row = row;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public int hashCode() {
+                return System.identityHashCode(row);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public boolean equals(Object obj) {
+                return obj instanceof Key key ? row == key.get() : obj instanceof Lookup lookup && row == lookup.row;
+            }
+        }
+    }
+
+    /**
+     * Immutable cell value which never notifies and holds no listener.
+     */
+    private static abstract class Constant<V> implements ObservableValue<V> {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void addListener(InvalidationListener listener) {
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void removeListener(InvalidationListener listener) {
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void addListener(ChangeListener<? super V> listener) {
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void removeListener(ChangeListener<? super V> listener) {
+        }
+    }
+
+    /**
+     * Immutable object value.
+     */
+    private static class ObjectConstant<V> extends Constant<V> {
+
+        /** The value. */
+        private final V value;
+
+        /**
+         * @param value
+         */
+        private ObjectConstant(V value) {
+            this.value = value;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public V getValue() {
+            return value;
+        }
+    }
+
     /**
      * Render the human-readable item expression.
      * 
@@ -9,6 +9,10 @@
  */
 package viewtify.ui;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
@@ -16,6 +20,10 @@ import java.lang.reflect.Modifier;
 import java.lang.reflect.Parameter;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 
 import javafx.application.Platform;
@@ -44,6 +52,18 @@ public abstract class View implements Extensible, UserInterfaceProvider<Node>, A
     /** The human-readable ID separator. */
     public static final String IDSeparator = " ➝ ";
 
+    /** The injection plan for each view class. */
+    private static final ClassValue<Plan> plans = new ClassValue<>() {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected Plan computeValue(Class<?> type) {
+            return new Plan(type);
+        }
+    };
+
     /** The associated root node. */
     private Node root;
 
@@ -63,24 +83,17 @@ public abstract class View implements Extensible, UserInterfaceProvider<Node>, A
      */
     protected ViewDSL declareUI() {
         // auto detect UI definition
-        for (Class<?> member : getClass().getDeclaredClasses()) {
-            if (ViewDSL.class.isAssignableFrom(member)) {
-                if (Modifier.isStatic(member.getModifiers())) {
-                    return I.make((Class<ViewDSL>) member);
-                } else {
-                    for (Constructor constructor : member.getDeclaredConstructors()) {
-                        Class[] paramTypes = constructor.getParameterTypes();
-
-                        if (paramTypes.length == 1 && paramTypes[0] == getClass()) {
-                            try {
-                                constructor.setAccessible(true);
-                                return (ViewDSL) constructor.newInstance(this);
-                            } catch (Exception e) {
-                                throw I.quiet(e);
-                            }
-                        }
-                    }
-                }
+        Plan plan = plans.get(getClass());
+
+        if (plan.dslType != null) {
+            return I.make(plan.dslType);
+        }
+
+        if (plan.dsl != null) {
+            try {
+                return (ViewDSL) plan.dsl.invoke(this);
+            } catch (Throwable e) {
+                throw I.quiet(e);
             }
         }
         throw I.quiet(new ClassNotFoundException(getClass() + " don't have UI definition. Define member class which is subclassed by " + ViewDSL.class
@@ -189,11 +202,12 @@ public abstract class View implements Extensible, UserInterfaceProvider<Node>, A
      * @return
      */
     public final <T> Signal<T> findUI(Class<T> type) {
-        Signal<T> fields = I.signal(getClass().getDeclaredFields()).take(f -> type.isAssignableFrom(f.getType())).map(f -> {
+        Field[] declared = plans.get(getClass()).declared;
+        Signal<T> fields = I.signal(declared).take(f -> type.isAssignableFrom(f.getType())).map(f -> {
             f.setAccessible(true);
             return (T) f.get(this);
         });
-        Signal<T> arrays = I.signal(getClass().getDeclaredFields())
+        Signal<T> arrays = I.signal(declared)
                 .take(f -> f.getType().isArray() && type.isAssignableFrom(f.getType().getComponentType()))
                 .flatArray(f -> {
                     f.setAccessible(true);
@@ -272,6 +286,9 @@ public abstract class View implements Extensible, UserInterfaceProvider<Node>, A
         ui().setManaged(visibility);
     }
 
+    /** The build state of the view tree which is built off the UI thread. */
+    private static final ThreadLocal<Deferral> deferred = new ThreadLocal();
+
     /** The initialization state. */
     private boolean initialized;
 
@@ -303,6 +320,11 @@ public abstract class View implements Extensible, UserInterfaceProvider<Node>, A
             initialized = true;
             this.parent = parent;
 
+            Deferral deferral = deferred.get();
+            if (deferral != null) {
+                deferral.started.add(this);
+            }
+
             // initialize user system lazily
             try {
                 buildUI();
@@ -315,60 +337,81 @@ public abstract class View implements Extensible, UserInterfaceProvider<Node>, A
         }
     }
 
-    private void buildUI() {
+    /**
+     * Build the node tree of the specified view in the current thread, but hold back the
+     * {@link #initialize()} calls of it and its descendants. The caller must invoke them on the UI
+     * thread after the tree is attached. If the build fails, the view can be initialized again.
+     * 
+     * @param view The target view.
+     * @param parent The parent view.
+     * @param initializers The views to initialize, in the order they were built.
+     */
+    static void buildOffUI(View view, View parent, List<View> initializers) {
+        Deferral deferral = new Deferral(new ArrayList(), initializers);
+        deferred.set(deferral);
         try {
-            Class targetClass = getClass();
+            view.initializeLazy(parent);
+        } catch (Throwable e) {
+            // reset the whole tree, so every view is built again on the UI thread
+            for (View started : deferral.started) {
+                synchronized (started) {
+                    started.initialized = false;
+                }
+            }
+            initializers.clear();
+            throw I.quiet(e);
+        } finally {
+            deferred.remove();
+        }
+    }
 
-            while (targetClass != View.class) {
-                // Inject various types
-                for (Field field : targetClass.getDeclaredFields()) {
-                    if (field.isSynthetic()) {
-                        continue;
+    private void buildUI() {
+        try {
+            for (Injection injection : plans.get(getClass()).injections) {
+                Object assigned = injection.getter.invoke(this);
+
+                if (assigned != null) {
+                    if (assigned instanceof View view) {
+                        view.initializeLazy(this);
+                    } else if (injection.type.isArray()) {
+                        buildArray(injection, injection.type, assigned);
                     }
-
-                    Class<?> type = field.getType();
-                    field.setAccessible(true);
-                    Object assigned = field.get(this);
-
-                    if (assigned != null) {
-                        if (assigned instanceof View view) {
-                            view.initializeLazy(this);
-                        } else if (type.isArray()) {
-                            buildArray(type, assigned, field);
-                        }
-                    } else if (!Modifier.isAbstract(type.getModifiers())) {
-                        if (View.class.isAssignableFrom(type)) {
-                            Class<View> viewType = (Class<View>) type;
-                            View view = findAncestorView(viewType).or(() -> I.make(viewType));
-                            view.initializeLazy(this);
-
-                            field.set(this, view);
-                        } else if (Node.class.isAssignableFrom(type) || UserInterfaceProvider.class.isAssignableFrom(type)) {
-                            Object node = createUI(type, field);
-
-                            assignId(node, field.getName());
-                            field.set(this, node);
-                        }
+                } else if (!Modifier.isAbstract(injection.type.getModifiers())) {
+                    if (View.class.isAssignableFrom(injection.type)) {
+                        Class<View> viewType = injection.type;
+                        View view = findAncestorView(viewType).or(() -> I.make(viewType));
+                        view.initializeLazy(this);
+
+                        injection.set(this, view);
+                    } else if (Node.class.isAssignableFrom(injection.type) || UserInterfaceProvider.class.isAssignableFrom(injection.type)) {
+                        Object node = createUI(injection, injection.type);
+
+                        assignId(node, injection.field.getName());
+                        injection.set(this, node);
                     }
                 }
-                targetClass = targetClass.getSuperclass();
             }
 
-            Platform.runLater(this::initialize);
-        } catch (Exception e) {
+            Deferral deferral = deferred.get();
+            if (deferral == null) {
+                Platform.runLater(this::initialize);
+            } else {
+                deferral.initializers.add(this);
+            }
+        } catch (Throwable e) {
             throw I.quiet(e);
         }
     }
 
-    private void buildArray(Class type, Object array, Field field) {
+    private void buildArray(Injection injection, Class type, Object array) {
         Class arrayType = type.getComponentType();
         int length = Array.getLength(array);
 
         for (int i = 0; i < length; i++) {
             if (arrayType.isArray()) {
-                buildArray(arrayType, Array.get(array, i), field);
+                buildArray(injection, arrayType, Array.get(array, i));
             } else {
-                Array.set(array, i, createUI(arrayType, field));
+                Array.set(array, i, createUI(injection, arrayType));
             }
         }
     }
@@ -377,49 +420,18 @@ public abstract class View implements Extensible, UserInterfaceProvider<Node>, A
      * Create various user interface types.
      * 
      * @param <T>
+     * @param injection
      * @param type
-     * @param field
      * @return
      */
-    private <T> T createUI(Class<T> type, Field field) {
+    private <T> T createUI(Injection injection, Class<T> type) {
         if (View.class.isAssignableFrom(type)) {
             Class<View> viewType = (Class<View>) type;
             View view = findAncestorView(viewType).or(() -> I.make(viewType));
             view.initializeLazy(this);
             return (T) view;
         } else {
-            Constructor<T> constructor = Model.collectConstructors(type)[0];
-            constructor.setAccessible(true);
-
-            Parameter[] parameterTypes = constructor.getParameters();
-            Object[] parameters = new Object[parameterTypes.length];
-            Type[] specializedTypes = null;
-
-            for (int i = 0; i < parameters.length; i++) {
-                Class<?> parameterType = parameterTypes[i].getType();
-
-                if (parameterType == View.class || parameterType == getClass()) {
-                    parameters[i] = this;
-                } else if (View.class.isAssignableFrom(parameterType)) {
-                    parameters[i] = findAncestorView((Class<View>) parameterType);
-                } else if (parameterType == Class.class) {
-                    if (specializedTypes == null) specializedTypes = Model.collectParameters(field.getGenericType(), field.getType());
-
-                    if (specializedTypes[i - 1] instanceof Class) {
-                        parameters[i] = specializedTypes[i - 1];
-                    } else if (specializedTypes[i - 1] instanceof ParameterizedType parameterized) {
-                        parameters[i] = parameterized.getRawType();
-                    }
-                } else {
-                    parameters[i] = I.make(parameterType);
-                }
-            }
-
-            try {
-                return constructor.newInstance(parameters);
-            } catch (Exception e) {
-                throw new UnsupportedOperationException("Non supported constructor [" + constructor + "] on view [" + this + "]", e);
-            }
+            return (T) injection.creator(getClass(), type).create(this);
         }
     }
 
@@ -487,4 +499,239 @@ public abstract class View implements Extensible, UserInterfaceProvider<Node>, A
         }
         children.clear();
     }
+
+    /**
+     * The build state of the view tree which is built off the UI thread.
+     * 
+     * @param started The views whose build has started.
+     * @param initializers The views whose initialization is held back.
+     */
+    private static record Deferral(List<View> started, List<View> initializers) {
+    }
+
+    /**
+     * The reflective information of the view class which is computed only once.
+     */
+    private static class Plan {
+
+        /** The fields declared in the view class. */
+        private final Field[] declared;
+
+        /** The injectable fields in the class hierarchy. */
+        private final List<Injection> injections = new ArrayList();
+
+        /** The static member class of UI definition. */
+        private Class<ViewDSL> dslType;
+
+        /** The constructor of UI definition which is inner class. */
+        private MethodHandle dsl;
+
+        /**
+         * @param viewClass
+         */
+        private Plan(Class<?> viewClass) {
+            this.declared = viewClass.getDeclaredFields();
+
+            Class targetClass = viewClass;
+            while (targetClass != View.class && targetClass != null) {
+                for (Field field : targetClass.getDeclaredFields()) {
+                    if (!field.isSynthetic()) {
+                        injections.add(new Injection(field));
+                    }
+                }
+                targetClass = targetClass.getSuperclass();
+            }
+
+            root: for (Class<?> member : viewClass.getDeclaredClasses()) {
+                if (ViewDSL.class.isAssignableFrom(member)) {
+                    if (Modifier.isStatic(member.getModifiers())) {
+                        dslType = (Class<ViewDSL>) member;
+                        break root;
+                    } else {
+                        for (Constructor constructor : member.getDeclaredConstructors()) {
+                            Class[] paramTypes = constructor.getParameterTypes();
+
+                            if (paramTypes.length == 1 && paramTypes[0] == viewClass) {
+                                try {
+                                    constructor.setAccessible(true);
+                                    dsl = MethodHandles.lookup().unreflectConstructor(constructor).asType(MethodType.methodType(Object.class, View.class));
+                                    break root;
+                                } catch (Exception e) {
+                                    throw I.quiet(e);
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * The injectable field.
+     */
+    private static class Injection {
+
+        /** The actual field. */
+        private final Field field;
+
+        /** The field type. */
+        private final Class type;
+
+        /** The field getter. */
+        private final MethodHandle getter;
+
+        /** The field setter. */
+        private final MethodHandle setter;
+
+        /** The constructor plans for the field type and the array component type. */
+        private final Map<Class, Creator> creators = new ConcurrentHashMap();
+
+        /**
+         * @param field
+         */
+        private Injection(Field field) {
+            field.setAccessible(true);
+
+            this.field = field;
+            this.type = field.getType();
+
+            try {
+                Lookup lookup = MethodHandles.lookup();
+                boolean instance = !Modifier.isStatic(field.getModifiers());
+                MethodType getterType = instance ? MethodType.methodType(Object.class, View.class) : MethodType.methodType(Object.class);
+                this.getter = instance ? lookup.unreflectGetter(field).asType(getterType)
+                        : MethodHandles.dropArguments(lookup.unreflectGetter(field).asType(getterType), 0, View.class);
+                this.setter = Modifier.isFinal(field.getModifiers()) ? null : lookup.unreflectSetter(field);
+            } catch (IllegalAccessException e) {
+                throw I.quiet(e);
+            }
+        }
+
+        /**
+         * Assign value to the field.
+         * 
+         * @param view
+         * @param value
+         */
+        private void set(View view, Object value) throws Throwable {
+            if (setter == null) {
+                field.set(view, value);
+            } else if (Modifier.isStatic(field.getModifiers())) {
+                setter.invoke(value);
+            } else {
+                setter.invoke(view, value);
+            }
+        }
+
+        /**
+         * Get the constructor plan of the specified type.
+         * 
+         * @param viewClass
+         * @param type
+         * @return
+         */
+        private Creator creator(Class viewClass, Class type) {
+            return creators.computeIfAbsent(type, x -> new Creator(viewClass, x, field));
+        }
+    }
+
+    /**
+     * The prebound constructor of UI type.
+     */
+    private static class Creator {
+
+        /** The parameter is the view itself. */
+        private static final int SELF = 0;
+
+        /** The parameter is the ancestor view. */
+        private static final int ANCESTOR = 1;
+
+        /** The parameter is the specialized type. */
+        private static final int FIXED = 2;
+
+        /** The parameter is made by DI. */
+        private static final int MAKE = 3;
+
+        /** The actual constructor. */
+        private final Constructor constructor;
+
+        /** The spreaded constructor handle. */
+        private final MethodHandle handle;
+
+        /** The parameter kinds. */
+        private final int[] kinds;
+
+        /** The parameter types or fixed values. */
+        private final Object[] values;
+
+        /**
+         * @param viewClass
+         * @param type
+         * @param field
+         */
+        private Creator(Class viewClass, Class type, Field field) {
+            this.constructor = Model.collectConstructors(type)[0];
+            this.constructor.setAccessible(true);
+
+            Parameter[] parameterTypes = constructor.getParameters();
+            this.kinds = new int[parameterTypes.length];
+            this.values = new Object[parameterTypes.length];
+            Type[] specializedTypes = null;
+
+            for (int i = 0; i < kinds.length; i++) {
+                Class<?> parameterType = parameterTypes[i].getType();
+                values[i] = parameterType;
+
+                if (parameterType == View.class || parameterType == viewClass) {
+                    kinds[i] = SELF;
+                } else if (View.class.isAssignableFrom(parameterType)) {
+                    kinds[i] = ANCESTOR;
+                } else if (parameterType == Class.class) {
+                    if (specializedTypes == null) specializedTypes = Model.collectParameters(field.getGenericType(), field.getType());
+
+                    kinds[i] = FIXED;
+                    values[i] = null;
+                    if (specializedTypes[i - 1] instanceof Class) {
+                        values[i] = specializedTypes[i - 1];
+                    } else if (specializedTypes[i - 1] instanceof ParameterizedType parameterized) {
+                        values[i] = parameterized.getRawType();
+                    }
+                } else {
+                    kinds[i] = MAKE;
+                }
+            }
+
+            try {
+                this.handle = MethodHandles.lookup().unreflectConstructor(constructor).asSpreader(Object[].class, kinds.length);
+            } catch (IllegalAccessException e) {
+                throw I.quiet(e);
+            }
+        }
+
+        /**
+         * Create new instance for the specified view.
+         * 
+         * @param view
+         * @return
+         */
+        private Object create(View view) {
+            Object[] parameters = new Object[kinds.length];
+
+            for (int i = 0; i < parameters.length; i++) {
+                parameters[i] = switch (kinds[i]) {
+                case SELF -> view;
+                case ANCESTOR -> view.findAncestorView((Class<View>) values[i]);
+                case FIXED -> values[i];
+                default -> I.make((Class) values[i]);
+                };
+            }
+
+            try {
+                return handle.invoke(parameters);
+            } catch (Throwable e) {
+                throw new UnsupportedOperationException("Non supported constructor [" + constructor + "] on view [" + view + "]", e);
+            }
+        }
+    }
 }
\ No newline at end of file
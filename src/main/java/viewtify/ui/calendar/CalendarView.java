@@ -63,6 +63,9 @@ public class CalendarView extends View {
 
     LocalDate currentDate;
 
+    /** The reusable event UI. (UI thread only) */
+    final EventUIPool pool = new EventUIPool();
+
     /**
      * Hide constructor.
      */
@@ -173,7 +176,10 @@ public class CalendarView extends View {
                 .merge(setting.observe())
                 .debounce(200, TimeUnit.MILLISECONDS)
                 .on(Viewtify.UIThread)
-                .to(() -> draw(currentView.getClass(), currentDate, null));
+                .to(() -> {
+                    TimeEventCache.invalidateAll();
+                    draw(currentView.getClass(), currentDate, null);
+                });
 
         UserActionHelper.of(ui()).when(User.MouseWheelDown, () -> {
             currentView.next();
@@ -236,4 +242,15 @@ public class CalendarView extends View {
             switchToYear.select();
         }
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void vandalize() {
+        super.vandalize();
+
+        // the displayed views return their event UI to the pool while disposing
+        pool.dispose();
+    }
 }
\ No newline at end of file
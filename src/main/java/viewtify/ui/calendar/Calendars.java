@@ -65,6 +65,27 @@ public class Calendars {
                 .to(process::accept);
     }
 
+    /**
+     * Calculate the event size for each day by starting and ending date.
+     * 
+     * @param start
+     * @param end
+     * @return The event size for each day, the first element is the starting date.
+     */
+    public static int[] calculateEvents(LocalDate start, LocalDate end) {
+        int[] counts = new int[(int) Math.max(0, end.toEpochDay() - start.toEpochDay() + 1)];
+
+        for (TimeEventSource source : sources) {
+            if (source.isEnabled()) {
+                int[] counted = source.countBetween(start, end);
+                for (int i = 0; i < Math.min(counts.length, counted.length); i++) {
+                    counts[i] += counted[i];
+                }
+            }
+        }
+        return counts;
+    }
+
     /**
      * Calculate the starting day.
      * 
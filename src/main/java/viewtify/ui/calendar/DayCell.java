@@ -11,9 +11,16 @@ package viewtify.ui.calendar;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import javafx.geometry.Insets;
 import javafx.scene.Node;
 import javafx.scene.control.ScrollPane.ScrollBarPolicy;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.VBox;
 import kiss.Extensible;
 import kiss.I;
 import stylist.Style;
@@ -21,6 +28,7 @@ import stylist.StyleDSL;
 import viewtify.ui.UILabel;
 import viewtify.ui.UIScrollPane;
 import viewtify.ui.UIVBox;
+import viewtify.ui.UserInterfaceProvider;
 import viewtify.ui.View;
 import viewtify.ui.ViewDSL;
 import viewtify.ui.calendar.TemporalView.TemporalStyles;
@@ -28,6 +36,9 @@ import viewtify.ui.helper.User;
 
 public class DayCell extends View {
 
+    /** The resolved visualizer for each visualizer type and event type. */
+    private static final Map<Class, ClassValue> visualizers = new ConcurrentHashMap();
+
     private UIVBox box;
 
     private UIScrollPane scroll;
@@ -40,6 +51,12 @@ public class DayCell extends View {
 
     private long latestUsedTime = startTime.toSecondOfDay();
 
+    /** The displayed event UI. */
+    private final List<Visualized> visualized = new ArrayList();
+
+    /** The pool of event UI which is shared in the calendar. */
+    private EventUIPool pool = new EventUIPool();
+
     @Override
     protected ViewDSL declareUI() {
         return new ViewDSL() {
@@ -87,6 +104,7 @@ public class DayCell extends View {
     void set(LocalDate date, int month, CalendarView calendar) {
         box.style(date.getMonthValue() != month, TemporalStyles.outOfMonth);
         day.text(date.getDayOfMonth());
+        pool = calendar.pool;
 
         day.when(User.LeftClick, () -> {
             calendar.show(DayView.class, date);
@@ -104,24 +122,75 @@ public class DayCell extends View {
     <T extends TimeEventVisualizer<TimeEvent> & Extensible> void add(TimeEvent event, Class<T> visualizerType, boolean enableTimeGap) {
         LocalTime startTime = event.startTime();
         if (Calendars.isAcceptable(startTime)) {
-            T visualizer = I.find(visualizerType, event.getClass());
-            Node ui = visualizer.visualize(event).ui();
+            T visualizer = find(visualizerType, event.getClass());
+            UserInterfaceProvider<? extends Node> provider = pool.take(visualizer, event);
+            Node ui = provider.ui();
 
             if (enableTimeGap) {
                 int minHeight = Calendars.setting.eventHeight.v;
                 long interval = Math.max(0, (startTime.toSecondOfDay() - latestUsedTime) / 60 * minHeight / 60 * 2);
-                ui.setStyle("-fx-margin: " + interval + " 0 0 0; -fx-min-height: " + minHeight + ";");
+                VBox.setMargin(ui, interval == 0 ? null : new Insets(interval, 0, 0, 0));
+                if (ui instanceof Region region) region.setMinHeight(minHeight);
                 latestUsedTime = event.endTime().toSecondOfDay();
+            } else {
+                VBox.setMargin(ui, null);
+                if (ui instanceof Region region) region.setMinHeight(Region.USE_COMPUTED_SIZE);
             }
 
+            visualized.add(new Visualized(visualizer, provider));
             pane.ui.getChildren().add(ui);
         }
     }
 
+    /**
+     * Find the visualizer for the specified event type. The resolved visualizer is cached.
+     * 
+     * @param visualizerType
+     * @param eventType
+     * @return
+     */
+    private static <T> T find(Class<T> visualizerType, Class eventType) {
+        return (T) visualizers.computeIfAbsent(visualizerType, type -> new ClassValue() {
+
+            @Override
+            protected Object computeValue(Class eventType) {
+                return I.find(type, eventType);
+            }
+        }).get(eventType);
+    }
+
+    /**
+     * Remove all displayed events and return their UI to the pool.
+     */
+    void recycle() {
+        pane.ui.getChildren().clear();
+
+        for (Visualized item : visualized) {
+            pool.release(item.visualizer, item.ui);
+        }
+        visualized.clear();
+        latestUsedTime = startTime.toSecondOfDay();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void vandalize() {
+        recycle();
+        super.vandalize();
+    }
+
     /**
      * 
      */
     void markAsToday() {
         box.style(TemporalStyles.today);
     }
+
+    /**
+     * The displayed event UI and its visualizer.
+     */
+    private record Visualized(TimeEventVisualizer visualizer, UserInterfaceProvider ui) {
+    }
 }
\ No newline at end of file
@@ -15,7 +15,6 @@ import java.time.temporal.ChronoUnit;
 import java.util.Comparator;
 import java.util.Locale;
 
-import kiss.I;
 import viewtify.Viewtify;
 import viewtify.ui.ViewDSL;
 
@@ -63,10 +62,8 @@ public class DayView extends TemporalView {
             cell.day.style(mark.style());
         });
 
-        I.signal(I.find(TimeEventSource.class))
+        TimeEventCache.query(date, date)
                 .subscribeOn(Viewtify.WorkerThread)
-                .take(TimeEventSource::isEnabled)
-                .flatMap(source -> source.queryBy(date))
                 .sort(Comparator.naturalOrder())
                 .on(Viewtify.UIThread)
                 .to(event -> cell.add(event, WeekEventVisualizer.class, true));
@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2024 The VIEWTIFY Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package viewtify.ui.calendar;
+
+import java.util.ArrayDeque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import javafx.scene.Node;
+import kiss.Disposable;
+import viewtify.ui.UserInterfaceProvider;
+
+/**
+ * The reusable event UI of the calendar. Only the UI of the visualizer which overrides
+ * {@link TimeEventVisualizer#recycle(UserInterfaceProvider, TimeEvent)} is pooled, the other UI is
+ * disposed when it is released.
+ */
+class EventUIPool {
+
+    /** The maximum number of pooled event UI for each visualizer. */
+    private static final int CAPACITY = 512;
+
+    /** Whether the visualizer type can rebind its UI or not. */
+    private static final ClassValue<Boolean> recyclable = new ClassValue<>() {
+
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                return type.getMethod("recycle", UserInterfaceProvider.class, TimeEvent.class).getDeclaringClass() != TimeEventVisualizer.class;
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+    };
+
+    /** The reusable event UI for each visualizer. (UI thread only) */
+    private final Map<TimeEventVisualizer, ArrayDeque<UserInterfaceProvider>> pool = new IdentityHashMap();
+
+    /**
+     * Take the pooled UI which is rebound to the specified event, or build new UI.
+     * 
+     * @param visualizer
+     * @param event
+     * @return
+     */
+    UserInterfaceProvider<? extends Node> take(TimeEventVisualizer visualizer, TimeEvent event) {
+        ArrayDeque<UserInterfaceProvider> reusable = pool.get(visualizer);
+        if (reusable != null) {
+            UserInterfaceProvider provider = reusable.pollLast();
+            if (provider != null) {
+                if (visualizer.recycle(provider, event)) {
+                    return provider;
+                }
+
+                // the visualizer can't rebind it to this event
+                dispose(provider);
+            }
+        }
+        return visualizer.visualize(event);
+    }
+
+    /**
+     * Return the UI which is no longer displayed.
+     * 
+     * @param visualizer The visualizer which built the UI.
+     * @param ui The released UI.
+     */
+    void release(TimeEventVisualizer visualizer, UserInterfaceProvider ui) {
+        if (recyclable.get(visualizer.getClass())) {
+            ArrayDeque<UserInterfaceProvider> reusable = pool.computeIfAbsent(visualizer, key -> new ArrayDeque());
+            if (reusable.size() < CAPACITY) {
+                reusable.add(ui);
+                return;
+            }
+        }
+        dispose(ui);
+    }
+
+    /**
+     * Dispose all pooled UI.
+     */
+    void dispose() {
+        for (ArrayDeque<UserInterfaceProvider> reusable : pool.values()) {
+            reusable.forEach(EventUIPool::dispose);
+        }
+        pool.clear();
+    }
+
+    /**
+     * Dispose the UI.
+     * 
+     * @param ui
+     */
+    private static void dispose(UserInterfaceProvider ui) {
+        if (ui instanceof Disposable disposable) {
+            disposable.dispose();
+        }
+    }
+}
\ No newline at end of file
@@ -20,7 +20,6 @@ import javafx.geometry.HPos;
 import javafx.scene.layout.ColumnConstraints;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.RowConstraints;
-import kiss.I;
 import viewtify.Viewtify;
 import viewtify.ui.UIGridView;
 import viewtify.ui.UILabel;
@@ -120,15 +119,14 @@ public class MonthView extends TemporalView {
             }
         }
 
-        I.signal(I.find(TimeEventSource.class))
+        TimeEventCache.query(start, end)
                 .subscribeOn(Viewtify.WorkerThread)
-                .take(TimeEventSource::isEnabled)
-                .flatMap(source -> source.query(start, end))
                 .take(event -> Calendars.isAcceptable(event.startTime()))
                 .sort(Comparator.naturalOrder())
                 .on(Viewtify.UIThread)
                 .to(event -> {
-                    long index = event.startDate().toEpochDay() - start.toEpochDay();
+                    // the event which is started before this range is shown on the first day
+                    long index = Math.max(0, event.startDate().toEpochDay() - start.toEpochDay());
                     int row = (int) index / 7;
                     int column = (int) index % 7;
                     cells[row][column].add(event, MonthEventVisualizer.class, false);
@@ -144,4 +142,18 @@ public class MonthView extends TemporalView {
             dow[i].text(Calendars.calculateDoW(i).getDisplayName(TextStyle.SHORT_STANDALONE, locale));
         }
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void vandalize() {
+        // the nested array of cells is not disposed automatically
+        for (DayCell[] weeks : cells) {
+            for (DayCell dayCell : weeks) {
+                dayCell.recycle();
+            }
+        }
+        super.vandalize();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,223 @@
+/*
+ * Copyright (C) 2024 The VIEWTIFY Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package viewtify.ui.calendar;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import kiss.I;
+import kiss.Signal;
+import viewtify.Viewtify;
+import viewtify.WorkerScheduler.Kind;
+
+/**
+ * The cache of {@link TimeEvent} between {@link TimeEventSource} and the calendar views. The events
+ * are loaded for each month and are indexed by every day they cover, so the event which spans
+ * several days is found from any of them. The least recently used months are evicted and the
+ * adjacent months are prefetched in the worker thread. The cache must be invalidated when the
+ * events of source are modified.
+ */
+public final class TimeEventCache {
+
+    /** The maximum number of cached months for each source. */
+    private static final int CAPACITY = 24;
+
+    /** The cached events for each source name. */
+    private static final Map<String, Store> stores = new ConcurrentHashMap();
+
+    /**
+     * Hide constructor.
+     */
+    private TimeEventCache() {
+    }
+
+    /**
+     * Query the events of all enabled sources by starting and ending date.
+     * 
+     * @param start
+     * @param end
+     * @return
+     */
+    public static Signal<TimeEvent> query(LocalDate start, LocalDate end) {
+        return I.signal(I.find(TimeEventSource.class)).take(TimeEventSource::isEnabled).flatIterable(source -> query(source, start, end));
+    }
+
+    /**
+     * Query the events of the specified source by starting and ending date. Each event which
+     * overlaps the range is returned only once.
+     * 
+     * @param source
+     * @param start
+     * @param end
+     * @return
+     */
+    static List<TimeEvent> query(TimeEventSource source, LocalDate start, LocalDate end) {
+        return stores.computeIfAbsent(source.name(), name -> new Store()).query(source, start, end);
+    }
+
+    /**
+     * Discard the cached events of the specified source.
+     * 
+     * @param name A name of source.
+     */
+    public static void invalidate(String name) {
+        Store store = stores.remove(name);
+        if (store != null) {
+            store.clear();
+        }
+    }
+
+    /**
+     * Discard all cached events.
+     */
+    public static void invalidateAll() {
+        for (String name : stores.keySet()) {
+            invalidate(name);
+        }
+    }
+
+    /**
+     * The cached months of the source.
+     */
+    private static class Store {
+
+        /** The cached months in access order. */
+        private final LinkedHashMap<YearMonth, CompletableFuture<List<TimeEvent>[]>> months = new LinkedHashMap(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry eldest) {
+                return CAPACITY < size();
+            }
+        };
+
+        /**
+         * Query the events by starting and ending date.
+         * 
+         * @param source
+         * @param start
+         * @param end
+         * @return
+         */
+        private List<TimeEvent> query(TimeEventSource source, LocalDate start, LocalDate end) {
+            List<TimeEvent> events = new ArrayList();
+
+            YearMonth first = YearMonth.from(start);
+            YearMonth last = YearMonth.from(end);
+            for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+                List<TimeEvent>[] days = month(source, month, false).join();
+
+                int from = month.equals(first) ? start.getDayOfMonth() : 1;
+                int to = month.equals(last) ? end.getDayOfMonth() : month.lengthOfMonth();
+                for (int day = from; day <= to; day++) {
+                    if (days[day - 1] != null) {
+                        LocalDate date = month.atDay(day);
+
+                        // the event is collected only at the first day in range
+                        for (TimeEvent event : days[day - 1]) {
+                            if (date.equals(start) || date.equals(event.startDate())) {
+                                events.add(event);
+                            }
+                        }
+                    }
+                }
+            }
+
+            month(source, first.minusMonths(1), true);
+            month(source, last.plusMonths(1), true);
+
+            return events;
+        }
+
+        /**
+         * Get the events of the month.
+         * 
+         * @param source
+         * @param month
+         * @param prefetch
+         * @return
+         */
+        private CompletableFuture<List<TimeEvent>[]> month(TimeEventSource source, YearMonth month, boolean prefetch) {
+            CompletableFuture<List<TimeEvent>[]> future;
+
+            synchronized (months) {
+                future = months.get(month);
+                if (future != null) {
+                    return future;
+                }
+                months.put(month, future = new CompletableFuture());
+            }
+
+            CompletableFuture<List<TimeEvent>[]> loading = future;
+            if (prefetch) {
+                Viewtify.inWorker(Kind.IO, () -> load(source, month, loading));
+            } else {
+                load(source, month, loading);
+            }
+            return future;
+        }
+
+        /**
+         * Load the events of the month from the source.
+         * 
+         * @param source
+         * @param month
+         * @param future
+         */
+        private void load(TimeEventSource source, YearMonth month, CompletableFuture<List<TimeEvent>[]> future) {
+            try {
+                List<TimeEvent>[] days = new List[month.lengthOfMonth()];
+
+                LocalDate first = month.atDay(1);
+                LocalDate last = month.atEndOfMonth();
+
+                for (TimeEvent event : source.query(first, last).toList()) {
+                    LocalDate start = event.startDate();
+                    LocalDate end = event.endDate();
+                    if (start == null) {
+                        continue;
+                    }
+                    if (end == null || end.isBefore(start)) {
+                        end = start;
+                    }
+
+                    // index by every day which is covered by the event in this month
+                    LocalDate from = start.isBefore(first) ? first : start;
+                    LocalDate to = end.isAfter(last) ? last : end;
+                    for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                        int index = date.getDayOfMonth() - 1;
+                        if (days[index] == null) days[index] = new ArrayList();
+                        days[index].add(event);
+                    }
+                }
+                future.complete(days);
+            } catch (Throwable e) {
+                synchronized (months) {
+                    months.remove(month, future);
+                }
+                future.completeExceptionally(e);
+            }
+        }
+
+        /**
+         * Discard all months.
+         */
+        private void clear() {
+            synchronized (months) {
+                months.clear();
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -132,13 +132,57 @@ public interface TimeEventSource extends Extensible {
     }
 
     /**
-     * Count the number of events.
+     * Count the number of events which start on the specified day. The result must be consistent
+     * with {@link #countBetween(LocalDate, LocalDate)}, which the year view uses.
      * 
      * @param day
      * @return
      */
     Signal<Integer> countOn(LocalDate day);
 
+    /**
+     * Count the number of events for each day by starting and ending date. It loads the events in
+     * the range by {@link #query(LocalDate, LocalDate)} only once and counts them by the starting
+     * date by default. If {@link #countOn(LocalDate)} counts in the other way or is cheaper than
+     * loading events, override it with the counting by the source itself or
+     * {@link #countEachDay(LocalDate, LocalDate)}.
+     * 
+     * @param start
+     * @param end
+     * @return The number of events for each day, the first element is the starting date.
+     */
+    default int[] countBetween(LocalDate start, LocalDate end) {
+        int[] counts = new int[(int) Math.max(0, end.toEpochDay() - start.toEpochDay() + 1)];
+
+        if (counts.length != 0) {
+            query(start, end).to(event -> {
+                long index = event.startDate().toEpochDay() - start.toEpochDay();
+                if (0 <= index && index < counts.length) {
+                    counts[(int) index]++;
+                }
+            });
+        }
+        return counts;
+    }
+
+    /**
+     * Count the number of events for each day by calling {@link #countOn(LocalDate)} for each day,
+     * so the result is same as the day-by-day count.
+     * 
+     * @param start
+     * @param end
+     * @return The number of events for each day, the first element is the starting date.
+     */
+    default int[] countEachDay(LocalDate start, LocalDate end) {
+        int[] counts = new int[(int) Math.max(0, end.toEpochDay() - start.toEpochDay() + 1)];
+
+        for (int i = 0; i < counts.length; i++) {
+            int index = i;
+            countOn(start.plusDays(i)).to(count -> counts[index] += count);
+        }
+        return counts;
+    }
+
     /**
      * Group all events by date.
      * 
@@ -21,4 +21,16 @@ public interface TimeEventVisualizer<E extends TimeEvent> {
      * @return
      */
     UserInterfaceProvider<? extends Node> visualize(E event);
+
+    /**
+     * Rebind the UI which was built by this visualizer to the other event. The calendar reuses the
+     * rebound UI instead of building new one, the UI which can't be rebound is discarded.
+     * 
+     * @param ui The UI which was built by {@link #visualize(TimeEvent)}.
+     * @param event The new event.
+     * @return true if the UI is rebound to the specified event.
+     */
+    default boolean recycle(UserInterfaceProvider<? extends Node> ui, E event) {
+        return false;
+    }
 }
\ No newline at end of file
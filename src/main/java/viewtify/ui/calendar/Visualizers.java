@@ -37,6 +37,14 @@ class Visualizers {
         public UserInterfaceProvider<? extends Node> visualize(TimeEvent event) {
             return new EventUI(event, EventUI.MONTH);
         }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean recycle(UserInterfaceProvider ui, TimeEvent event) {
+            return EventUI.rebind(ui, event, EventUI.MONTH);
+        }
     }
 
     @Managed(Singleton.class)
@@ -49,6 +57,14 @@ class Visualizers {
         public UserInterfaceProvider<? extends Node> visualize(TimeEvent event) {
             return new EventUI(event, EventUI.WEEK);
         }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean recycle(UserInterfaceProvider ui, TimeEvent event) {
+            return EventUI.rebind(ui, event, EventUI.WEEK);
+        }
     }
 
     @Managed(Singleton.class)
@@ -61,6 +77,14 @@ class Visualizers {
         public UserInterfaceProvider<? extends Node> visualize(TimeEvent event) {
             return new EventUI(event, EventUI.DAY);
         }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean recycle(UserInterfaceProvider ui, TimeEvent event) {
+            return EventUI.rebind(ui, event, EventUI.DAY);
+        }
     }
 
     /**
@@ -78,7 +102,7 @@ class Visualizers {
         private static final int DAY = 2;
 
         /** The associated event. */
-        private final TimeEvent event;
+        private TimeEvent event;
 
         /** The view type. */
         private final int view;
@@ -140,16 +164,41 @@ class Visualizers {
          */
         @Override
         protected void initialize() {
+            box.popup(Detail::new);
+
+            bind(event);
+        }
+
+        /**
+         * Display the specified event.
+         * 
+         * @param event
+         */
+        private void bind(TimeEvent event) {
+            this.event = event;
+
             time.text(event.startTime());
             title.text(event.title());
             description.text(event.description());
 
-            box.popup(Detail::new);
-
             Color color = event.source().color();
-            if (!Color.Transparent.equals(color)) {
-                title.ui.setStyle("-fx-text-fill: " + color.toRGB() + ";");
+            title.ui.setStyle(Color.Transparent.equals(color) ? null : "-fx-text-fill: " + color.toRGB() + ";");
+        }
+
+        /**
+         * Rebind the recycled UI to the specified event.
+         * 
+         * @param ui The recycled UI.
+         * @param event The new event.
+         * @param view The view type.
+         * @return true if the UI is rebound.
+         */
+        private static boolean rebind(UserInterfaceProvider ui, TimeEvent event, int view) {
+            if (ui instanceof EventUI eventUI && eventUI.view == view) {
+                eventUI.bind(event);
+                return true;
             }
+            return false;
         }
 
         private class Detail extends View {
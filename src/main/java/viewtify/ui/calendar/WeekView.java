@@ -19,7 +19,6 @@ import java.util.Locale;
 import javafx.geometry.HPos;
 import javafx.scene.layout.ColumnConstraints;
 import javafx.scene.layout.Priority;
-import kiss.I;
 import viewtify.Viewtify;
 import viewtify.ui.UIGridView;
 import viewtify.ui.UILabel;
@@ -116,15 +115,14 @@ public class WeekView extends TemporalView {
             }
         }
 
-        I.signal(I.find(TimeEventSource.class))
+        TimeEventCache.query(start, end)
                 .subscribeOn(Viewtify.WorkerThread)
-                .take(TimeEventSource::isEnabled)
-                .flatMap(source -> source.query(start, end))
                 .take(event -> Calendars.isAcceptable(event.startTime()))
                 .sort(Comparator.naturalOrder())
                 .on(Viewtify.UIThread)
                 .to(event -> {
-                    long index = event.startDate().toEpochDay() - start.toEpochDay();
+                    // the event which is started before this week is shown on the first day
+                    long index = Math.max(0, event.startDate().toEpochDay() - start.toEpochDay());
                     cells[(int) index].add(event, WeekEventVisualizer.class, true);
                 });
     }
@@ -40,6 +40,9 @@ public class YearMonthView extends View {
 
     private Month month;
 
+    /** The date of the first day cell. */
+    private LocalDate first;
+
     @Override
     protected ViewDSL declareUI() {
         return new ViewDSL() {
@@ -149,8 +152,9 @@ public class YearMonthView extends View {
 
     protected void set(LocalDate date) {
         this.month = date.getMonth();
+        this.first = Calendars.calculateStartingMonthDay(date);
 
-        LocalDate processing = Calendars.calculateStartingMonthDay(date);
+        LocalDate processing = first;
         for (int i = 7; i < days.length; i++) {
             UILabel dayCell = days[i];
             if (processing.getMonth() == date.getMonth()) {
@@ -164,19 +168,6 @@ public class YearMonthView extends View {
                 Calendars.calculateMark(associated, mark -> {
                     dayCell.style(mark.style());
                 });
-
-                Calendars.calculateEvents(associated, size -> {
-                    Style numbered = switch (size) {
-                    case 0 -> null;
-                    case 1 -> Styles.one;
-                    case 2 -> Styles.two;
-                    case 3 -> Styles.three;
-                    case 4 -> Styles.four;
-                    default -> Styles.five;
-                    };
-                    dayCell.style(numbered);
-                });
-
             }
 
             processing = processing.plusDays(1);
@@ -191,6 +182,43 @@ public class YearMonthView extends View {
         }
     }
 
+    /**
+     * Apply the event size of each day.
+     * 
+     * @param counts The event size for each day.
+     * @param start The date of the first element.
+     */
+    protected void set(int[] counts, LocalDate start) {
+        LocalDate processing = first;
+        for (int i = 7; i < days.length; i++) {
+            if (processing.getMonth() == month) {
+                long index = processing.toEpochDay() - start.toEpochDay();
+                int size = 0 <= index && index < counts.length ? counts[(int) index] : 0;
+
+                Style numbered = switch (size) {
+                case 0 -> null;
+                case 1 -> Styles.one;
+                case 2 -> Styles.two;
+                case 3 -> Styles.three;
+                case 4 -> Styles.four;
+                default -> Styles.five;
+                };
+                days[i].unstyle(Styles.one, Styles.two, Styles.three, Styles.four, Styles.five).style(numbered);
+            }
+            processing = processing.plusDays(1);
+        }
+    }
+
+    /**
+     * Find the day cell of the specified date.
+     * 
+     * @param date A target date.
+     * @return The associated cell.
+     */
+    UILabel cell(LocalDate date) {
+        return days[7 + (int) (date.toEpochDay() - first.toEpochDay())];
+    }
+
     protected void set(Locale locale) {
         for (int i = 0; i < 7; i++) {
             days[i].text(Calendars.calculateDoW(i).getDisplayName(TextStyle.SHORT_STANDALONE, locale));
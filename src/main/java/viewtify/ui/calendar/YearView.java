@@ -15,8 +15,10 @@ import java.time.temporal.ChronoUnit;
 import java.util.Locale;
 
 import javafx.scene.layout.Priority;
+import kiss.I;
 import stylist.Style;
 import stylist.StyleDSL;
+import viewtify.Viewtify;
 import viewtify.ui.UIGridView;
 import viewtify.ui.ViewDSL;
 
@@ -91,6 +93,28 @@ public class YearView extends TemporalView {
         for (int i = 0; i < months.length; i++) {
             months[i].set(currentDate.plusMonths(i));
         }
+
+        // count the events of whole year at once
+        LocalDate start = currentDate;
+        I.signal(start)
+                .subscribeOn(Viewtify.WorkerThread)
+                .map(x -> Calendars.calculateEvents(start, start.plusYears(1).minusDays(1)))
+                .on(Viewtify.UIThread)
+                .to(counts -> set(counts, start));
+    }
+
+    /**
+     * Apply the event size of each day, unless the displayed year has already been changed.
+     * 
+     * @param counts The event size for each day.
+     * @param start The date of the first element.
+     */
+    protected void set(int[] counts, LocalDate start) {
+        if (start.equals(currentDate)) {
+            for (YearMonthView month : months) {
+                month.set(counts, start);
+            }
+        }
     }
 
     /**
@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2024 The VIEWTIFY Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package viewtify.ui.dock;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index from view id to the area which holds the view. Each area reports the modification of its
+ * views, so the lookup doesn't need to walk the whole area tree.
+ */
+class DockIndex<A> {
+
+    /** The area for each view id. */
+    private final Map<String, A> areas = new HashMap();
+
+    /**
+     * Find the area which holds the specified view.
+     * 
+     * @param id A view id.
+     * @return The area or null.
+     */
+    A find(String id) {
+        return id == null ? null : areas.get(id);
+    }
+
+    /**
+     * Update the views of the specified area. The view which is moved to another area is kept
+     * even if the previous area reports the removal later.
+     * 
+     * @param area A target area.
+     * @param previous The previous view ids of the area.
+     * @param current The current view ids of the area.
+     */
+    void update(A area, List<String> previous, List<String> current) {
+        Set<String> retained = new HashSet(current);
+        for (String id : previous) {
+            if (!retained.contains(id)) {
+                areas.remove(id, area);
+            }
+        }
+
+        for (String id : current) {
+            areas.put(id, area);
+        }
+    }
+}
\ No newline at end of file
@@ -17,6 +17,7 @@ import java.util.function.UnaryOperator;
 
 import javafx.application.Platform;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.collections.ObservableSet;
 import javafx.event.EventHandler;
@@ -118,6 +119,17 @@ public final class DockSystem {
     /** Avoid multiplex requesting. */
     private static boolean requesting;
 
+    /**
+     * Update the id index by the modification of views in the specified area.
+     * 
+     * @param area A modified area.
+     * @param previous The previous view ids of the area.
+     * @param current The current view ids of the area.
+     */
+    static void updateIndex(TabArea area, List<String> previous, List<String> current) {
+        layout().index.update(area, previous, current);
+    }
+
     /**
      * Save the current layout info.
      */
@@ -161,16 +173,7 @@ public final class DockSystem {
      * @return
      */
     public static boolean has(String id) {
-        DockLayout layout = layout();
-        return I.signal(layout.roots)
-                .as(ViewArea.class)
-                .recurseMap(s -> s.flatIterable(v -> (List<ViewArea>) v.children))
-                .take(v -> v.hasView(id))
-                .as(TabArea.class)
-                .first()
-                .to()
-                .isPresent();
-
+        return layout().find(id).isPresent();
     }
 
     /**
@@ -192,7 +195,7 @@ public final class DockSystem {
      * @param id A tab ID to select.
      */
     public static void select(String id) {
-        layout().find(TabArea.class).take(x -> x.hasView(id)).first().to(x -> x.select(id, true));
+        layout().find(id).to(x -> x.select(id, true));
     }
 
     /**
@@ -232,7 +235,7 @@ public final class DockSystem {
 
         // First, if there is an area where the specified view's ID is registered,
         // add the view there.
-        Variable<TabArea> area = layout.find(TabArea.class).take(x -> x.hasView(id)).first().to();
+        Variable<TabArea> area = layout.find(id);
         if (area.isPresent()) {
             area.v.add(tab, PositionRestore);
             openedTabs.add(id);
@@ -409,12 +412,29 @@ public final class DockSystem {
         /** The save event manager. */
         private final Signaling<Boolean> save = new Signaling();
 
+        /** The view id to area index. */
+        private final DockIndex<TabArea> index = new DockIndex();
+
         /**
          * 
          */
         private DockLayout() {
             save.expose.debounce(1000, TimeUnit.MILLISECONDS).to(this::store);
             restore();
+
+            // index the restored areas, they don't report their views while restoring
+            find(TabArea.class).to(area -> index.update(area, List.of(), area.getIds()));
+
+            roots.addListener((ListChangeListener<RootArea>) c -> {
+                while (c.next()) {
+                    for (RootArea root : c.getRemoved()) {
+                        root.findAll(TabArea.class).to(area -> index.update(area, area.getIds(), List.of()));
+                    }
+                    for (RootArea root : c.getAddedSubList()) {
+                        root.findAll(TabArea.class).to(area -> index.update(area, List.of(), area.getIds()));
+                    }
+                }
+            });
         }
 
         /**
@@ -459,7 +479,18 @@ public final class DockSystem {
          * @return
          */
         private Variable<ViewArea> find(Dock dock) {
-            return dock == null ? Variable.empty() : find(TabArea.class).take(v -> v.hasView(dock.id())).first().as(ViewArea.class).to();
+            return dock == null ? Variable.empty() : find(dock.id()).as(ViewArea.class);
+        }
+
+        /**
+         * Find tab area by view id through the index. The hit is validated against the area.
+         * 
+         * @param id
+         * @return
+         */
+        private Variable<TabArea> find(String id) {
+            TabArea area = index.find(id);
+            return area != null && area.hasView(id) ? Variable.of(area) : Variable.empty();
         }
     }
 
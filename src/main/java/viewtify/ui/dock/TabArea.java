@@ -148,8 +148,10 @@ class TabArea extends ViewArea<UITabPane> {
      */
     private void updatePosition() {
         if (!DockSystem.whileRestration) {
+            List<String> previous = views;
             views = I.signal(node.ui.getTabs()).map(Tab::getId).toList();
 
+            DockSystem.updateIndex(this, previous, views);
             DockSystem.requestSavingLayout();
         }
     }
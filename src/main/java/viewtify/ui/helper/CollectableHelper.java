@@ -10,14 +10,22 @@
 package viewtify.ui.helper;
 
 import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
+import java.util.Set;
 import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiPredicate;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -44,11 +52,14 @@ import kiss.Signaling;
 import kiss.Variable;
 import kiss.WiseConsumer;
 import viewtify.Viewtify;
+import viewtify.WorkerScheduler.Kind;
 import viewtify.edit.Edito;
 import viewtify.property.SmartProperty;
 import viewtify.ui.UserInterface;
 import viewtify.ui.query.CompoundQuery;
+import viewtify.ui.query.CompoundQuery.Refinement;
 import viewtify.util.GuardedOperation;
+import viewtify.util.PagedList;
 import viewtify.util.Translatable;
 
 public interface CollectableHelper<Self extends ReferenceHolder & CollectableHelper<Self, E>, E> {
@@ -154,6 +165,31 @@ public interface CollectableHelper<Self extends ReferenceHolder & CollectableHel
         return (Self) this;
     }
 
+    /**
+     * Sets the lazy paged items. Only the visible items are loaded page by page in the worker
+     * thread. The paged items are not filtered and sorted on the client side, so the loader should
+     * take care of them.
+     * 
+     * @param size The number of items.
+     * @param loader The page loader.
+     * @return Chainable API.
+     */
+    default Self items(int size, PagedList.Loader<E> loader) {
+        return items(new PagedList(size, loader));
+    }
+
+    /**
+     * Sets the lazy paged items. Only the visible items are loaded page by page in the worker
+     * thread. The paged items are not filtered and sorted on the client side, so the loader should
+     * take care of them.
+     * 
+     * @param items The lazy paged items.
+     * @return Chainable API.
+     */
+    default Self items(PagedList<E> items) {
+        return updateUnderlayModel(items);
+    }
+
     /**
      * Specify all values from the start value to the end value.
      *
@@ -193,6 +229,34 @@ public interface CollectableHelper<Self extends ReferenceHolder & CollectableHel
         return dispose(reload.startWithNull().to(() -> setter.accept((Self) this)));
     }
 
+    /**
+     * Append all values from the specified live stream. The values arriving at a time are
+     * coalesced into the single addition on UI thread.
+     * 
+     * @param items A live stream of items.
+     * @return Chainable API.
+     */
+    default Self stream(Signal<E> items) {
+        return stream(items, 0);
+    }
+
+    /**
+     * Append all values from the specified live stream. The values arriving at a time are
+     * coalesced into the single addition on UI thread. When the number of items exceeds the
+     * specified size, the oldest items are evicted like ring buffer, and the waiting values which
+     * will be evicted immediately are dropped before they reach to UI thread.
+     * 
+     * @param items A live stream of items.
+     * @param maxSize The maximum number of items, zero or negative value means unlimited.
+     * @return Chainable API.
+     */
+    default Self stream(Signal<E> items, int maxSize) {
+        if (items == null) {
+            return (Self) this;
+        }
+        return dispose(refer().stream(items, maxSize));
+    }
+
     /**
      * Initialize with the specified value. This value is automatically saved whenever it is
      * changed, and is restored the next time it is initialized.
@@ -822,6 +886,22 @@ public interface CollectableHelper<Self extends ReferenceHolder & CollectableHel
         return take(context.valueProperty(), filter.negate());
     }
 
+    /**
+     * Filter items by the specified condition. The condition is evaluated in parallel on the
+     * background worker threads against the snapshot of items, and the result is applied to the UI
+     * at once. The outdated result will be discarded if the filter is modified during evaluation.
+     * 
+     * @param filter A conditional filter.
+     * @return Chainable API.
+     */
+    default Self takeAsync(Predicate<E> filter) {
+        if (filter == null) {
+            return take(filter);
+        }
+        refer().evaluateInParallel(filter, null);
+        return (Self) this;
+    }
+
     /**
      * Get the associated {@link CompoundQuery}.
      * 
@@ -831,6 +911,20 @@ public interface CollectableHelper<Self extends ReferenceHolder & CollectableHel
         return refer().query();
     }
 
+    /**
+     * Get the associated {@link CompoundQuery} which is evaluated in parallel on the background
+     * worker threads. The parallel mode is kept for the lifetime of this helper, so
+     * {@link #query()} returns the same query which is also evaluated in parallel after this call.
+     * 
+     * @return
+     * @see #takeAsync(Predicate)
+     */
+    default CompoundQuery<E> queryAsync() {
+        Ð<E> refer = refer();
+        refer.parallel = true;
+        return refer.query();
+    }
+
     /**
      * Observe each items's state to update view.
      * 
@@ -996,7 +1090,7 @@ public interface CollectableHelper<Self extends ReferenceHolder & CollectableHel
         private FilteredList<E> filtered;
 
         /** The artifact holder. */
-        private final Property<SortedList<E>> sorted = new SmartProperty();
+        private final Property<ObservableList<E>> sorted = new SmartProperty();
 
         /** The filtered state. */
         private final Signaling<Boolean> filtering = new Signaling();
@@ -1013,12 +1107,36 @@ public interface CollectableHelper<Self extends ReferenceHolder & CollectableHel
         /** The disposer for observers. */
         private WeakHashMap<E, Disposable> disposers;
 
+        /** The source list which is observed by this reference. */
+        private ObservableList<E> watched;
+
+        /** The item positions in the source list, null means outdated. */
+        private IdentityHashMap<E, Integer> positions;
+
+        /** The items which are waiting for notifying their state modification. */
+        private final Set<E> modified = Collections.newSetFromMap(new IdentityHashMap());
+
         /** The sync state. */
         private final GuardedOperation updating = new GuardedOperation();
 
         /** Lazy initialization. */
         private volatile CompoundQuery<E> query;
 
+        /** The actual predicate for {@link FilteredList}, it delegates to the current filter. */
+        private final Predicate<E> delegator = this::accept;
+
+        /** The precomputed verdict provider while refiltering, null verdict means unknown. */
+        private Function<E, Boolean> shortcut;
+
+        /** The evaluation mode of {@link CompoundQuery}. */
+        private volatile boolean parallel;
+
+        /** The generation of filtering request to discard the outdated result. */
+        private final AtomicLong generation = new AtomicLong();
+
+        /** The generation of parallel evaluation which is not applied yet, -1 means none. */
+        private volatile long evaluating = -1;
+
         /**
          * Initialize date reference.
          * 
@@ -1029,28 +1147,49 @@ public interface CollectableHelper<Self extends ReferenceHolder & CollectableHel
             if (list != null) {
                 items.setValue(list);
                 list.addListener(this);
+                watched = list;
             }
 
             Viewtify.observing(items).skipNull().to(v -> {
                 updating.guard(() -> {
-                    filtered = new FilteredList(v, filter.v);
-                    sorted.setValue(new SortedList(filtered, sorter.v));
+                    if (query != null) query.evictAll();
+                    positions = null;
+
+                    // observe the structural changes of the new source list
+                    if (watched != v) {
+                        if (watched != null) watched.removeListener(this);
+                        v.addListener(this);
+                        watched = v;
+                    }
+
+                    if (v instanceof PagedList) {
+                        // paged items must not be scanned on the client side
+                        filtered = null;
+                        sorted.setValue(v);
+                    } else {
+                        filtered = new FilteredList(v, filter.v == null ? null : delegator);
+                        sorted.setValue(new SortedList(filtered, sorter.v));
+                    }
 
                     helper.itemsProperty().setValue(sorted.getValue());
                 });
             });
 
             filter.observe().to(v -> {
+                generation.incrementAndGet();
+
                 if (filtered != null) {
-                    if (filtered.getPredicate() == v) {
+                    if (v == null) {
+                        filtered.setPredicate(null);
+                    } else if (filtered.getPredicate() == delegator) {
                         invokeRefilter();
                     } else {
-                        filtered.setPredicate(v);
+                        filtered.setPredicate(delegator);
                     }
                 }
             });
             sorter.observe().to(v -> {
-                if (sorted.getValue() != null) sorted.getValue().setComparator(v);
+                if (sorted.getValue() instanceof SortedList list) list.setComparator(v);
             });
         }
 
@@ -1059,6 +1198,31 @@ public interface CollectableHelper<Self extends ReferenceHolder & CollectableHel
          */
         @Override
         public void onChanged(Change<? extends E> c) {
+            if (positions != null) {
+                while (c.next()) {
+                    if (!isReplacedInPlace(c)) {
+                        positions = null;
+                        break;
+                    }
+                }
+                c.reset();
+            }
+
+            CompoundQuery<E> query = this.query;
+            if (query != null) {
+                while (c.next()) {
+                    if (c.wasUpdated()) {
+                        for (int i = c.getFrom(); i < c.getTo(); i++) {
+                            query.evict(c.getList().get(i));
+                        }
+                    }
+                    for (E item : c.getRemoved()) {
+                        query.evict(item);
+                    }
+                }
+                c.reset();
+            }
+
             if (notifier != null) {
                 while (c.next()) {
                     for (E item : c.getRemoved()) {
@@ -1069,15 +1233,111 @@ public interface CollectableHelper<Self extends ReferenceHolder & CollectableHel
                     }
                     for (E item : c.getAddedSubList()) {
                         disposers.put(item, notifier.apply(item).observe().to(() -> {
-                            // Dirty Hack : notify item change event to the source observable list
-                            ObservableList<E> list = items.getValue();
-                            list.set(list.indexOf(item), item);
+                            boolean first;
+                            synchronized (modified) {
+                                first = modified.isEmpty();
+                                modified.add(item);
+                            }
+                            if (first) Viewtify.inUILater(this::notifyModified);
                         }));
                     }
                 }
             }
         }
 
+        /**
+         * Append all values from the specified live stream in batch.
+         * 
+         * @param stream A live stream of items.
+         * @param max The maximum number of items, zero or negative value means unlimited.
+         * @return A disposer.
+         */
+        private Disposable stream(Signal<E> stream, int max) {
+            ArrayDeque<E> pending = new ArrayDeque();
+
+            return stream.skipNull().to(item -> {
+                boolean first;
+                synchronized (pending) {
+                    first = pending.isEmpty();
+                    pending.add(item);
+
+                    // drop the value which will be evicted immediately
+                    if (0 < max && max < pending.size()) pending.pollFirst();
+                }
+
+                if (first) {
+                    Viewtify.inUILater(() -> {
+                        List<E> batch;
+                        synchronized (pending) {
+                            batch = new ArrayList(pending);
+                            pending.clear();
+                        }
+
+                        ObservableList<E> list = items.getValue();
+                        if (list != null) {
+                            list.addAll(batch);
+
+                            // evict the oldest items
+                            if (0 < max && max < list.size()) list.remove(0, list.size() - max);
+                        }
+                    });
+                }
+            });
+        }
+
+        /**
+         * Test whether the change replaces the items by themselves at the same position.
+         * 
+         * @param c A change.
+         * @return A result.
+         */
+        private boolean isReplacedInPlace(Change<? extends E> c) {
+            if (!c.wasReplaced() || c.getRemovedSize() != c.getAddedSize()) {
+                return false;
+            }
+
+            List<? extends E> removed = c.getRemoved();
+            List<? extends E> added = c.getAddedSubList();
+            for (int i = 0; i < removed.size(); i++) {
+                if (removed.get(i) != added.get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Notify the state modification of the waiting items to the source list at once. The
+         * multiple modifications of the same item are coalesced into the single notification.
+         */
+        private void notifyModified() {
+            Object[] targets;
+            synchronized (modified) {
+                targets = modified.toArray();
+                modified.clear();
+            }
+
+            ObservableList<E> list = items.getValue();
+            if (list == null) {
+                return;
+            }
+
+            if (positions == null) {
+                positions = new IdentityHashMap(list.size());
+                for (int i = 0; i < list.size(); i++) {
+                    positions.putIfAbsent(list.get(i), i);
+                }
+            }
+
+            for (Object target : targets) {
+                Integer index = positions.get(target);
+                if (index != null && index < list.size() && list.get(index) == target) {
+                    // Dirty Hack : notify item change event to the source observable list
+                    list.set(index, (E) target);
+                }
+            }
+        }
+
         /**
          * Get the associated {@link CompoundQuery} lazily.
          * 
@@ -1088,17 +1348,176 @@ public interface CollectableHelper<Self extends ReferenceHolder & CollectableHel
                 synchronized (this) {
                     if (query == null) {
                         query = new CompoundQuery();
-                        query.updated.to(filter::set);
+                        query.updated.to(this::refilter);
                     }
                 }
             }
             return query;
         }
 
+        /**
+         * Test the specified item by the current filter. While refiltering, the precomputed
+         * verdict is reused for the items whose visibility is already known.
+         * 
+         * @param item A target item.
+         * @return A result.
+         */
+        private boolean accept(E item) {
+            if (shortcut != null) {
+                Boolean known = shortcut.apply(item);
+                if (known != null) {
+                    return known;
+                }
+            }
+            return filter.v.test(item);
+        }
+
+        /**
+         * Apply the modified {@link CompoundQuery}. If the query is narrowed, only the currently
+         * visible items are re-tested. If the query is widened, only the currently hidden items are
+         * re-tested. The refinement describes the relation to the previous condition, so it is used
+         * only when the visible items reflect that condition, that is, no parallel evaluation is in
+         * flight.
+         * 
+         * @param query The modified query.
+         */
+        private void refilter(CompoundQuery<E> query) {
+            Refinement refinement = query.refinement();
+            Function<E, Boolean> hint = null;
+
+            boolean settled = evaluating != generation.get();
+
+            if (settled && filter.v == query && filtered != null && filtered.getPredicate() == delegator && refinement != Refinement.Unknown) {
+                Set<E> visibles = Collections.newSetFromMap(new IdentityHashMap(filtered.size()));
+                visibles.addAll(filtered);
+
+                if (refinement == Refinement.Narrowing) {
+                    hint = item -> visibles.contains(item) ? null : Boolean.FALSE;
+                } else {
+                    hint = item -> visibles.contains(item) ? Boolean.TRUE : null;
+                }
+            }
+
+            if (parallel) {
+                evaluateInParallel(query, hint);
+            } else {
+                apply(query, hint);
+            }
+        }
+
+        /**
+         * Apply the specified filter with the precomputed verdicts.
+         * 
+         * @param predicate A filter to apply.
+         * @param hint The precomputed verdict provider, null verdict means unknown.
+         */
+        private void apply(Predicate<E> predicate, Function<E, Boolean> hint) {
+            shortcut = hint;
+
+            try {
+                if (filter.v != predicate || filtered == null || filtered.getPredicate() != delegator) {
+                    filter.set(predicate);
+                } else {
+                    generation.incrementAndGet();
+                    invokeRefilter();
+                }
+            } finally {
+                shortcut = null;
+            }
+        }
+
+        /**
+         * Evaluate the specified filter against the snapshot of items in parallel on the worker
+         * threads, then apply the result on the UI thread at once. The {@link CompoundQuery} is
+         * evaluated by its snapshot because it can be modified on the UI thread meanwhile.
+         * 
+         * @param predicate A filter to evaluate.
+         * @param hint The precomputed verdict provider, null verdict means unknown.
+         */
+        private void evaluateInParallel(Predicate<E> predicate, Function<E, Boolean> hint) {
+            ObservableList<E> source = items.getValue();
+            if (source == null || filtered == null) {
+                filter.set(predicate);
+                return;
+            }
+
+            long current = generation.incrementAndGet();
+            evaluating = current;
+            List<E> snapshot = new ArrayList(source);
+            Predicate<E> condition = predicate instanceof CompoundQuery compound ? compound.snapshot() : predicate;
+
+            // the items which are added or updated during evaluation must be re-tested
+            Set<E> dirty = Collections.newSetFromMap(new IdentityHashMap());
+            ListChangeListener<E> watcher = c -> {
+                while (c.next()) {
+                    if (c.wasUpdated()) {
+                        dirty.addAll(c.getList().subList(c.getFrom(), c.getTo()));
+                    } else if (c.wasAdded()) {
+                        dirty.addAll(c.getAddedSubList());
+                    }
+                }
+            };
+            source.addListener(watcher);
+
+            // split the snapshot into the chunks for the CPU lane
+            Boolean[] verdicts = new Boolean[snapshot.size()];
+            int processors = Runtime.getRuntime().availableProcessors();
+            int size = Math.max(1024, (verdicts.length + processors - 1) / processors);
+            int chunks = Math.max(1, (verdicts.length + size - 1) / size);
+            AtomicInteger remaining = new AtomicInteger(chunks);
+            AtomicBoolean failed = new AtomicBoolean();
+
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                int start = chunk * size;
+                int end = Math.min(verdicts.length, start + size);
+
+                Viewtify.inWorker(Kind.CPU, () -> {
+                    try {
+                        for (int i = start; i < end && !failed.get(); i++) {
+                            E item = snapshot.get(i);
+                            Boolean known = hint == null ? null : hint.apply(item);
+                            verdicts[i] = known != null ? known : condition.test(item);
+                        }
+                    } catch (Throwable e) {
+                        failed.set(true);
+                        throw e;
+                    } finally {
+                        // the last chunk cleans up even if the evaluation failed
+                        if (remaining.decrementAndGet() == 0) {
+                            Viewtify.inUI(() -> {
+                                source.removeListener(watcher);
+
+                                if (current == generation.get()) {
+                                    evaluating = -1;
+
+                                    if (failed.get()) {
+                                        // report the error in the same way as the sequential evaluation
+                                        apply(predicate, null);
+                                    } else {
+                                        Map<E, Boolean> results = new IdentityHashMap(verdicts.length);
+                                        for (int i = 0; i < verdicts.length; i++) {
+                                            results.put(snapshot.get(i), verdicts[i]);
+                                        }
+                                        results.keySet().removeAll(dirty);
+
+                                        apply(predicate, results::get);
+                                    }
+                                }
+                            });
+                        }
+                    }
+                });
+            }
+        }
+
         /**
          * Invoke the internal refilter method.
          */
         private void invokeRefilter() {
+            if (filtered == null) {
+                return;
+            }
+
             try {
                 refilter.invoke(filtered);
             } catch (Exception e) {
@@ -1110,6 +1529,10 @@ public interface CollectableHelper<Self extends ReferenceHolder & CollectableHel
          * Invoke the internal resort method.
          */
         private void invokeResort() {
+            if (!(sorted.getValue() instanceof SortedList)) {
+                return;
+            }
+
             try {
                 resort.invoke(sorted.getValue());
             } catch (Exception e) {
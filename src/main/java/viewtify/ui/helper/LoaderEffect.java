@@ -9,6 +9,7 @@
  */
 package viewtify.ui.helper;
 
+import java.nio.IntBuffer;
 import java.util.concurrent.TimeUnit;
 
 import javafx.scene.SnapshotParameters;
@@ -16,6 +17,7 @@ import javafx.scene.effect.Blend;
 import javafx.scene.effect.BlendMode;
 import javafx.scene.effect.BoxBlur;
 import javafx.scene.effect.ImageInput;
+import javafx.scene.image.PixelFormat;
 import javafx.scene.image.PixelWriter;
 import javafx.scene.image.WritableImage;
 import javafx.scene.layout.Region;
@@ -74,6 +76,18 @@ class LoaderEffect extends Blend {
     /** The stripe hiding task. */
     private Disposable stoppingTask;
 
+    /** The colored pixels of one row at the first frame, the other rows and frames are its shift. */
+    private int[] pattern;
+
+    /** The color of the current pattern. */
+    private Color patternColor;
+
+    /** The reusable image buffers which are used alternately. */
+    private final WritableImage[] buffers = new WritableImage[2];
+
+    /** The index of the latest buffer. */
+    private int bufferIndex;
+
     /**
      * Hide construction.
      */
@@ -98,6 +112,7 @@ class LoaderEffect extends Blend {
             state = 1;
             startTime = System.currentTimeMillis();
             region.setEffect(this);
+            Color accent = Preferences.of(AppearanceSetting.class).theme.exact().accent();
             startingTask = I.schedule(initialDelay, 50, TimeUnit.MILLISECONDS, true)
                     .on(Viewtify.UIThread)
                     .effectOnDispose(() -> region.setEffect(null))
@@ -105,7 +120,7 @@ class LoaderEffect extends Blend {
                         int width = (int) region.getWidth();
                         int height = (int) region.getHeight();
 
-                        image.setSource(drawStripe(width, height, x.intValue()));
+                        image.setSource(drawStripe(width, height, x.intValue(), accent));
 
                         WritableImage textImage = drawText();
                         text.setSource(textImage);
@@ -171,33 +186,45 @@ class LoaderEffect extends Blend {
     }
 
     /**
-     * Draw the stripe image
+     * Draw the stripe image. Each row is the shifted pattern, so it is written by the bulk copy into
+     * the reused buffer.
      * 
      * @param width
      * @param height
      * @param frame
+     * @param color
      * @return
      */
-    private WritableImage drawStripe(int width, int height, int frame) {
-        WritableImage writableImage = new WritableImage(width, height);
-        PixelWriter pixelWriter = writableImage.getPixelWriter();
+    WritableImage drawStripe(int width, int height, int frame, Color color) {
+        if (width <= 0 || height <= 0) {
+            return null;
+        }
 
         int stripeWidth = stripeWidthColor + stripeWidthTransparent;
-        int offset = frame % stripeWidth;
-        Color color = Preferences.of(AppearanceSetting.class).theme.exact().accent();
-
-        for (int x = 0; x < width; x++) {
-            for (int y = 0; y < height; y++) {
-                int diagonalPosition = x - offset + y;
-                if (diagonalPosition < 0 || diagonalPosition % stripeWidth >= stripeWidthColor) {
-                    pixelWriter.setColor(x, y, Color.TRANSPARENT);
-                } else {
-                    pixelWriter.setColor(x, y, color);
-                }
+
+        if (pattern == null || pattern.length < width + stripeWidth || !color.equals(patternColor)) {
+            int argb = (int) Math.round(color.getOpacity() * 255) << 24 | (int) Math.round(color.getRed() * 255) << 16
+                    | (int) Math.round(color.getGreen() * 255) << 8 | (int) Math.round(color.getBlue() * 255);
+
+            pattern = new int[width + stripeWidth];
+            for (int i = 0; i < pattern.length; i++) {
+                pattern[i] = i % stripeWidth < stripeWidthColor ? argb : 0;
             }
+            patternColor = color;
         }
 
-        return writableImage;
+        bufferIndex ^= 1;
+        WritableImage buffer = buffers[bufferIndex];
+        if (buffer == null || buffer.getWidth() != width || buffer.getHeight() != height) {
+            buffer = buffers[bufferIndex] = new WritableImage(width, height);
+        }
+
+        PixelWriter writer = buffer.getPixelWriter();
+        PixelFormat<IntBuffer> format = PixelFormat.getIntArgbInstance();
+        for (int y = 0; y < height; y++) {
+            writer.setPixels(0, y, width, 1, format, pattern, Math.floorMod(y - frame, stripeWidth), width);
+        }
+        return buffer;
     }
 
     /**
@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2024 The VIEWTIFY Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package viewtify.ui.helper;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import javafx.application.Platform;
+import javafx.collections.ObservableList;
+import javafx.css.Styleable;
+
+import viewtify.Viewtify;
+
+/**
+ * The pending modification of style classes on the node. The modification on the UI thread is
+ * applied immediately. All modifications which are requested from other threads before the next UI
+ * task are merged and applied by the single replacement of the style classes, so the node reapplies
+ * CSS at most once.
+ */
+final class StyleChangeset implements Runnable {
+
+    /** The pending changesets. (guarded by itself) */
+    private static final Map<Styleable, StyleChangeset> pending = new IdentityHashMap();
+
+    /** The target node. */
+    private final Styleable ui;
+
+    /** The latest operation for each class name. (true : add, false : remove) */
+    private final LinkedHashMap<String, Boolean> changes = new LinkedHashMap();
+
+    /**
+     * @param ui
+     */
+    private StyleChangeset(Styleable ui) {
+        this.ui = ui;
+    }
+
+    /**
+     * Request to add or remove the style classes.
+     * 
+     * @param ui A target node.
+     * @param add The operation. (true : add, false : remove)
+     * @param classNames A list of class names.
+     */
+    static void change(Styleable ui, boolean add, Iterable<String> classNames) {
+        if (ui == null || classNames == null) {
+            return;
+        }
+
+        StyleChangeset changeset;
+        boolean created = false;
+
+        synchronized (pending) {
+            changeset = pending.get(ui);
+            if (changeset == null) {
+                pending.put(ui, changeset = new StyleChangeset(ui));
+                created = true;
+            }
+
+            for (String className : classNames) {
+                if (className != null && className.length() != 0) {
+                    changeset.changes.put(className, add);
+                }
+            }
+        }
+
+        if (Platform.isFxApplicationThread()) {
+            // apply it with the pending modifications in the requested order
+            changeset.run();
+        } else if (created) {
+            Viewtify.inUILater(changeset);
+        }
+    }
+
+    /**
+     * Request to add or remove the style classes.
+     * 
+     * @param ui A target node.
+     * @param add The operation. (true : add, false : remove)
+     * @param classNames A list of class names.
+     */
+    static void change(Styleable ui, boolean add, String... classNames) {
+        if (classNames != null && classNames.length != 0) {
+            change(ui, add, List.of(classNames));
+        }
+    }
+
+    /**
+     * Check whether the style class will be applied or not.
+     * 
+     * @param ui A target node.
+     * @param className A target class name.
+     * @return true : added, false : removed, null : unchanged
+     */
+    static Boolean pending(Styleable ui, String className) {
+        synchronized (pending) {
+            StyleChangeset changeset = pending.get(ui);
+            return changeset == null ? null : changeset.changes.get(className);
+        }
+    }
+
+    /**
+     * Discard all pending modifications of the node.
+     * 
+     * @param ui A target node.
+     */
+    static void discard(Styleable ui) {
+        synchronized (pending) {
+            StyleChangeset changeset = pending.remove(ui);
+            if (changeset != null) {
+                changeset.changes.clear();
+            }
+        }
+    }
+
+    /**
+     * Apply all modifications at once.
+     */
+    @Override
+    public void run() {
+        Map<String, Boolean> operations;
+
+        synchronized (pending) {
+            if (pending.get(ui) == this) {
+                pending.remove(ui);
+            }
+            operations = new LinkedHashMap(changes);
+            changes.clear();
+        }
+
+        ObservableList<String> classes = ui.getStyleClass();
+        if (classes == null || operations.isEmpty()) {
+            return;
+        }
+
+        // keep the order and multiplicity of the unchanged class names
+        List<String> modified = new ArrayList(classes);
+        for (Entry<String, Boolean> operation : operations.entrySet()) {
+            String name = operation.getKey();
+
+            if (operation.getValue()) {
+                if (!modified.contains(name)) modified.add(name);
+            } else {
+                modified.removeIf(name::equals);
+            }
+        }
+
+        if (!modified.equals(classes)) {
+            classes.setAll(modified);
+        }
+    }
+}
\ No newline at end of file
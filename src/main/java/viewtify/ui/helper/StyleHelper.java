@@ -12,14 +12,11 @@ package viewtify.ui.helper;
 import java.util.List;
 
 import javafx.beans.value.ObservableValue;
-import javafx.collections.ObservableList;
 import javafx.css.Styleable;
 
-import kiss.I;
 import kiss.Signal;
 import kiss.Variable;
 import stylist.Style;
-import viewtify.Viewtify;
 
 public interface StyleHelper<Self extends StyleHelper, S extends Styleable> {
 
@@ -37,7 +34,8 @@ public interface StyleHelper<Self extends StyleHelper, S extends Styleable> {
      * @return Result.
      */
     default boolean hasStyle(String className) {
-        return ui().getStyleClass().contains(className);
+        Boolean pending = StyleChangeset.pending(ui(), className);
+        return pending != null ? pending : ui().getStyleClass().contains(className);
     }
 
     /**
@@ -71,7 +69,14 @@ public interface StyleHelper<Self extends StyleHelper, S extends Styleable> {
      * @return Chainable API.
      */
     default Self style(Style... styles) {
-        return style(I.signal(styles).skipNull().flatArray(Style::className).toList());
+        if (styles != null) {
+            for (Style style : styles) {
+                if (style != null) {
+                    StyleChangeset.change(ui(), true, style.className());
+                }
+            }
+        }
+        return (Self) this;
     }
 
     /**
@@ -95,17 +100,7 @@ public interface StyleHelper<Self extends StyleHelper, S extends Styleable> {
      * @return Chainable API.
      */
     private Self style(List<String> classNames) {
-        Viewtify.inUI(() -> {
-            ObservableList<String> classes = ui().getStyleClass();
-
-            for (String className : classNames) {
-                if (classes != null && className.length() != 0) {
-                    if (!classes.contains(className)) {
-                        classes.add(className);
-                    }
-                }
-            }
-        });
+        StyleChangeset.change(ui(), true, classNames);
         return (Self) this;
     }
 
@@ -117,23 +112,12 @@ public interface StyleHelper<Self extends StyleHelper, S extends Styleable> {
      */
     default Self styleOnly(Style style) {
         if (style != null) {
-            Viewtify.inUI(() -> {
-                ObservableList<String> classes = ui().getStyleClass();
-
-                for (Style member : style.group()) {
-                    String[] names = member.className();
-
-                    if (member == style) {
-                        for (String name : names) {
-                            if (!classes.contains(name)) {
-                                classes.add(name);
-                            }
-                        }
-                    } else {
-                        classes.removeAll(names);
-                    }
+            for (Style member : style.group()) {
+                if (member != style) {
+                    StyleChangeset.change(ui(), false, member.className());
                 }
-            });
+            }
+            StyleChangeset.change(ui(), true, style.className());
         }
         return (Self) this;
     }
@@ -213,16 +197,12 @@ public interface StyleHelper<Self extends StyleHelper, S extends Styleable> {
      * @return Chainable API.
      */
     default Self unstyle(Style... styles) {
-        if (styles != null && styles.length != 0) {
-            Viewtify.inUI(() -> {
-                ObservableList<String> classes = ui().getStyleClass();
-
-                for (Style style : styles) {
-                    if (style != null) {
-                        classes.removeAll(style.className());
-                    }
+        if (styles != null) {
+            for (Style style : styles) {
+                if (style != null) {
+                    StyleChangeset.change(ui(), false, style.className());
                 }
-            });
+            }
         }
         return (Self) this;
     }
@@ -234,17 +214,7 @@ public interface StyleHelper<Self extends StyleHelper, S extends Styleable> {
      * @return Chainable API.
      */
     default Self unstyle(String... classNames) {
-        if (classNames != null && classNames.length != 0) {
-            Viewtify.inUI(() -> {
-                ObservableList<String> classes = ui().getStyleClass();
-
-                for (String className : classNames) {
-                    if (className != null && className.length() != 0) {
-                        classes.remove(className);
-                    }
-                }
-            });
-        }
+        StyleChangeset.change(ui(), false, classNames);
         return (Self) this;
     }
 
@@ -254,6 +224,7 @@ public interface StyleHelper<Self extends StyleHelper, S extends Styleable> {
      * @return Chainable API
      */
     default Self unstyleAll() {
+        StyleChangeset.discard(ui());
         ui().getStyleClass().clear();
         return (Self) this;
     }
@@ -9,10 +9,18 @@
  */
 package viewtify.ui.query;
 
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.BiFunction;
 import java.util.function.BiPredicate;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -42,6 +50,9 @@ public class CompoundQuery<M> implements Predicate<M>, Disposable {
     @Managed
     private List<Query<M, ?>> queries = new ArrayList();
 
+    /** The relation between the latest condition and the previous one. */
+    private Refinement refinement = Refinement.Unknown;
+
     /**
      * {@inheritDoc}
      */
@@ -55,6 +66,30 @@ public class CompoundQuery<M> implements Predicate<M>, Disposable {
         return true;
     }
 
+    /**
+     * Capture the current condition. The captured predicate is not affected by the later
+     * modification of this query, so it can be evaluated on the other thread.
+     * 
+     * @return The immutable predicate.
+     */
+    public Predicate<M> snapshot() {
+        List<Predicate<M>> conditions = new ArrayList();
+        for (Query<M, ?> query : queries) {
+            Predicate<M> condition = query.snapshot();
+            if (condition != null) conditions.add(condition);
+        }
+
+        Predicate<M>[] captured = conditions.toArray(Predicate[]::new);
+        return model -> {
+            for (Predicate<M> condition : captured) {
+                if (!condition.test(model)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
     /**
      * List up all sub queries.
      * 
@@ -64,6 +99,16 @@ public class CompoundQuery<M> implements Predicate<M>, Disposable {
         return Collections.unmodifiableList(queries);
     }
 
+    /**
+     * Describe how the latest modification has changed the set of accepted models. The filtering
+     * engine can use this hint to re-test only a part of the models.
+     * 
+     * @return The relation between the latest condition and the previous one.
+     */
+    public Refinement refinement() {
+        return refinement;
+    }
+
     /**
      * Add String based {@link Query}.
      * 
@@ -125,7 +170,10 @@ public class CompoundQuery<M> implements Predicate<M>, Disposable {
      */
     public <V> Query<M, V> addQuery(Property<String> name, Class<V> type, Function<M, V> extractor) {
         Query<M, V> query = new Query<>(name, type, extractor);
-        query.disposer = query.input.observe().mapTo(null).merge(query.tester.observe()).to(() -> update.accept(this));
+        query.disposer = query.input.observe().mapTo(null).merge(query.tester.observe()).to(() -> {
+            refinement = query.refinement;
+            update.accept(this);
+        });
         queries.add(query);
 
         return query;
@@ -175,6 +223,7 @@ public class CompoundQuery<M> implements Predicate<M>, Disposable {
     public void removeQuery(Query query) {
         if (query != null && queries.remove(query)) {
             query.disposer.dispose();
+            refinement = Refinement.Widening;
             update.accept(this);
         }
     }
@@ -187,9 +236,33 @@ public class CompoundQuery<M> implements Predicate<M>, Disposable {
             query.disposer.dispose();
         }
         queries.clear();
+        refinement = Refinement.Widening;
         update.accept(this);
     }
 
+    /**
+     * Evict the cached values of the specified model. This method should be called when the model
+     * is removed or modified.
+     * 
+     * @param model A target model.
+     */
+    public void evict(M model) {
+        if (model != null) {
+            for (Query<M, ?> query : queries) {
+                if (query.memo != null) query.memo.remove(model);
+            }
+        }
+    }
+
+    /**
+     * Evict the all cached values.
+     */
+    public void evictAll() {
+        for (Query<M, ?> query : queries) {
+            if (query.memo != null) query.memo.clear();
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -198,6 +271,21 @@ public class CompoundQuery<M> implements Predicate<M>, Disposable {
         removeAllQueries();
     }
 
+    /**
+     * The relation between the new condition and the previous one.
+     */
+    public enum Refinement {
+
+        /** The new condition accepts only a subset of the previously accepted models. */
+        Narrowing,
+
+        /** The new condition accepts a superset of the previously accepted models. */
+        Widening,
+
+        /** The relation is unpredictable, all models must be re-tested. */
+        Unknown;
+    }
+
     /**
      * 
      */
@@ -205,43 +293,47 @@ public class CompoundQuery<M> implements Predicate<M>, Disposable {
 
         /** The builtin filter for {@link Comparable} value. */
         public static final Tester<Comparable> Equal = new Tester<>("is equal to", Comparable.class, (tester, value) -> value
-                .compareTo(tester) == 0);
+                .compareTo(tester) == 0).refineBy((Comparable prev, Comparable next) -> same(prev, next));
 
         /** The builtin filter for {@link Comparable} value. */
         public static final Tester<Comparable> NotEqual = new Tester<>("is not equal to", Comparable.class, (tester, value) -> value
-                .compareTo(tester) != 0);
+                .compareTo(tester) != 0).refineBy((Comparable prev, Comparable next) -> same(prev, next));
 
         /** The builtin filter for {@link Comparable} value. */
         public static final Tester<Comparable> GreaterThan = new Tester<>("is greater than", Comparable.class, (tester, value) -> value
-                .compareTo(tester) > 0);
+                .compareTo(tester) > 0).refineBy((Comparable prev, Comparable next) -> ascending(prev, next));
 
         /** The builtin filter for {@link Comparable} value. */
         public static final Tester<Comparable> GreaterThanOrEqual = new Tester<>("is greater than or equal to", Comparable.class, (tester, value) -> value
-                .compareTo(tester) >= 0);
+                .compareTo(tester) >= 0).refineBy((Comparable prev, Comparable next) -> ascending(prev, next));
 
         /** The builtin filter for {@link Comparable} value. */
         public static final Tester<Comparable> LessThan = new Tester<>("is less than", Comparable.class, (tester, value) -> value
-                .compareTo(tester) < 0);
+                .compareTo(tester) < 0).refineBy((Comparable prev, Comparable next) -> ascending(next, prev));
 
         /** The builtin filter for {@link Comparable} value. */
         public static final Tester<Comparable> LessThanOrEqual = new Tester<>("is less than or equal to", Comparable.class, (tester, value) -> value
-                .compareTo(tester) <= 0);
+                .compareTo(tester) <= 0).refineBy((Comparable prev, Comparable next) -> ascending(next, prev));
 
         /** The builtin filter for {@link String} value. */
-        public static final Tester<String> Contain = new Tester<>("contains", String.class, Tokens.class, Tokens::new, Tokens::contains);
+        public static final Tester<String> Contain = new Tester<>("contains", String.class, Tokens.class, Tokens::new, Tokens::contains)
+                .refineBy((Tokens prev, Tokens next) -> prev.refine(next, String::contains));
 
         /** The builtin filter for {@link String} value. */
         public static final Tester<String> NotContain = new Tester<>("don't contain", String.class, Tokens.class, Tokens::new, (tester, value) -> !tester
-                .contains(value));
+                .contains(value)).refineBy((Tokens prev, Tokens next) -> next.refine(prev, String::contains));
 
         /** The builtin filter for {@link String} value. */
-        public static final Tester<String> StartWith = new Tester<>("starts with", String.class, Tokens.class, Tokens::new, Tokens::startsWith);
+        public static final Tester<String> StartWith = new Tester<>("starts with", String.class, Tokens.class, Tokens::new, Tokens::startsWith)
+                .refineBy((Tokens prev, Tokens next) -> prev.refine(next, String::startsWith));
 
         /** The builtin filter for {@link String} value. */
-        public static final Tester<String> EndWith = new Tester<>("ends with", String.class, Tokens.class, Tokens::new, Tokens::endsWith);
+        public static final Tester<String> EndWith = new Tester<>("ends with", String.class, Tokens.class, Tokens::new, Tokens::endsWith)
+                .refineBy((Tokens prev, Tokens next) -> prev.refine(next, String::endsWith));
 
         /** The builtin filter for {@link String} value. */
-        public static final Tester<String> Match = new Tester<>("matches", String.class, Tokens.class, Tokens::new, Tokens::match);
+        public static final Tester<String> Match = new Tester<>("matches", String.class, Tokens.class, Tokens::new, Tokens::match)
+                .refineBy((Tokens prev, Tokens next) -> prev.refine(next, String::equals));
 
         /** The builtin filter for {@link String} value. */
         public static final Tester<String> RegEx = new Tester<>("regular expression", String.class, Pattern.class, v -> Pattern
@@ -256,6 +348,9 @@ public class CompoundQuery<M> implements Predicate<M>, Disposable {
         /** The actual filter. */
         private final BiPredicate<V, V> condition;
 
+        /** The relation detector between two normalized inputs. */
+        private final BiFunction<V, V, Refinement> refiner;
+
         /**
          * Builtin filters.
          * 
@@ -278,6 +373,31 @@ public class CompoundQuery<M> implements Predicate<M>, Disposable {
             this.description = I.translate(description);
             this.normalizer = (Function<V, V>) normalizer;
             this.condition = (BiPredicate<V, V>) condition;
+            this.refiner = (prev, next) -> Refinement.Unknown;
+        }
+
+        /**
+         * Copy the filter with the specified relation detector.
+         * 
+         * @param base
+         * @param refiner
+         */
+        private Tester(Tester<V> base, BiFunction<V, V, Refinement> refiner) {
+            this.description = base.description;
+            this.normalizer = base.normalizer;
+            this.condition = base.condition;
+            this.refiner = refiner;
+        }
+
+        /**
+         * Create the filter which has the specified relation detector between two normalized
+         * inputs. This filter itself is not modified.
+         * 
+         * @param refiner A relation detector.
+         * @return The new filter.
+         */
+        public <T> Tester<V> refineBy(BiFunction<T, T, Refinement> refiner) {
+            return refiner == null ? this : new Tester(this, refiner);
         }
 
         /**
@@ -288,6 +408,39 @@ public class CompoundQuery<M> implements Predicate<M>, Disposable {
             return condition.test(tester, value);
         }
 
+        /**
+         * Detect the relation between the previous normalized input and the next one.
+         * 
+         * @param prev The previous normalized input.
+         * @param next The next normalized input.
+         * @return A detected relation.
+         */
+        public Refinement refine(V prev, V next) {
+            return refiner.apply(prev, next);
+        }
+
+        /**
+         * Detect the relation for the equality based condition.
+         * 
+         * @param prev The previous input.
+         * @param next The next input.
+         * @return A detected relation.
+         */
+        private static Refinement same(Comparable prev, Comparable next) {
+            return prev.compareTo(next) == 0 ? Refinement.Narrowing : Refinement.Unknown;
+        }
+
+        /**
+         * Detect the relation for the lower bound condition.
+         * 
+         * @param prev The previous lower bound.
+         * @param next The next lower bound.
+         * @return A detected relation.
+         */
+        private static Refinement ascending(Comparable prev, Comparable next) {
+            return next.compareTo(prev) < 0 ? Refinement.Widening : Refinement.Narrowing;
+        }
+
         /**
          * {@inheritDoc}
          */
@@ -336,9 +489,15 @@ public class CompoundQuery<M> implements Predicate<M>, Disposable {
          */
         private static class Tokens {
 
+            /** The minimum number of tokens to use the automaton. */
+            private static final int AUTOMATON_THRESHOLD = 4;
+
             /** The token set. */
             private final String[] tokens;
 
+            /** The multi-token matcher, null when the number of tokens is small. */
+            private final Automaton automaton;
+
             /**
              * Tokenize the inputed text.
              * 
@@ -346,6 +505,44 @@ public class CompoundQuery<M> implements Predicate<M>, Disposable {
              */
             private Tokens(String input) {
                 this.tokens = input.toLowerCase().split("\\s+");
+                this.automaton = tokens.length < AUTOMATON_THRESHOLD ? null : new Automaton(tokens);
+            }
+
+            /**
+             * Detect the relation between this tokens and the next tokens.
+             * 
+             * @param next The next tokens.
+             * @param relation A relation between the actual value and the token.
+             * @return A detected relation.
+             */
+            private Refinement refine(Tokens next, BiPredicate<String, String> relation) {
+                if (covers(next, this, relation)) {
+                    return Refinement.Narrowing;
+                } else if (covers(this, next, relation)) {
+                    return Refinement.Widening;
+                } else {
+                    return Refinement.Unknown;
+                }
+            }
+
+            /**
+             * Test whether every strict token implies the satisfaction of any loose token.
+             * 
+             * @param strict The strict tokens.
+             * @param loose The loose tokens.
+             * @param relation A relation between the actual value and the token.
+             * @return A result.
+             */
+            private static boolean covers(Tokens strict, Tokens loose, BiPredicate<String, String> relation) {
+                root: for (String token : strict.tokens) {
+                    for (String base : loose.tokens) {
+                        if (relation.test(token, base)) {
+                            continue root;
+                        }
+                    }
+                    return false;
+                }
+                return true;
             }
 
             /**
@@ -355,10 +552,16 @@ public class CompoundQuery<M> implements Predicate<M>, Disposable {
              * @return
              */
             private boolean contains(String value) {
-                String lower = value.toLowerCase();
+                if (automaton != null) {
+                    return automaton.find(value);
+                }
+
                 for (String token : tokens) {
-                    if (lower.contains(token)) {
-                        return true;
+                    int length = token.length();
+                    for (int i = 0, last = value.length() - length; i <= last; i++) {
+                        if (value.regionMatches(true, i, token, 0, length)) {
+                            return true;
+                        }
                     }
                 }
                 return false;
@@ -371,9 +574,8 @@ public class CompoundQuery<M> implements Predicate<M>, Disposable {
              * @return
              */
             private boolean match(String value) {
-                String lower = value.toLowerCase();
                 for (String token : tokens) {
-                    if (lower.equals(token)) {
+                    if (value.equalsIgnoreCase(token)) {
                         return true;
                     }
                 }
@@ -387,9 +589,8 @@ public class CompoundQuery<M> implements Predicate<M>, Disposable {
              * @return
              */
             private boolean startsWith(String value) {
-                String lower = value.toLowerCase();
                 for (String token : tokens) {
-                    if (lower.startsWith(token)) {
+                    if (value.regionMatches(true, 0, token, 0, token.length())) {
                         return true;
                     }
                 }
@@ -403,15 +604,156 @@ public class CompoundQuery<M> implements Predicate<M>, Disposable {
              * @return
              */
             private boolean endsWith(String value) {
-                String lower = value.toLowerCase();
                 for (String token : tokens) {
-                    if (lower.endsWith(token)) {
+                    int length = token.length();
+                    if (value.regionMatches(true, value.length() - length, token, 0, length)) {
                         return true;
                     }
                 }
                 return false;
             }
         }
+
+        /**
+         * Case-insensitive Aho-Corasick automaton to find any of the tokens in a single pass.
+         */
+        private static class Automaton {
+
+            /** The sorted transition characters for each state. */
+            private final char[][] keys;
+
+            /** The transition destinations for each state. */
+            private final int[][] destinations;
+
+            /** The failure link for each state. */
+            private final int[] failures;
+
+            /** The accepting flag for each state. */
+            private final boolean[] accepts;
+
+            /**
+             * Build the automaton from the specified tokens.
+             * 
+             * @param tokens
+             */
+            private Automaton(String[] tokens) {
+                // build trie
+                List<TreeMap<Character, Integer>> trie = new ArrayList();
+                List<Boolean> terminals = new ArrayList();
+                trie.add(new TreeMap());
+                terminals.add(false);
+
+                for (String token : tokens) {
+                    int state = 0;
+                    for (int i = 0; i < token.length(); i++) {
+                        Integer next = trie.get(state).get(fold(token.charAt(i)));
+                        if (next == null) {
+                            next = trie.size();
+                            trie.get(state).put(fold(token.charAt(i)), next);
+                            trie.add(new TreeMap());
+                            terminals.add(false);
+                        }
+                        state = next;
+                    }
+                    terminals.set(state, true);
+                }
+
+                int size = trie.size();
+                this.keys = new char[size][];
+                this.destinations = new int[size][];
+                this.failures = new int[size];
+                this.accepts = new boolean[size];
+
+                for (int state = 0; state < size; state++) {
+                    TreeMap<Character, Integer> edges = trie.get(state);
+                    keys[state] = new char[edges.size()];
+                    destinations[state] = new int[edges.size()];
+
+                    int index = 0;
+                    for (Entry<Character, Integer> edge : edges.entrySet()) {
+                        keys[state][index] = edge.getKey();
+                        destinations[state][index++] = edge.getValue();
+                    }
+                    accepts[state] = terminals.get(state);
+                }
+
+                // build failure links in breadth-first order
+                ArrayDeque<Integer> queue = new ArrayDeque();
+                for (int child : destinations[0]) {
+                    queue.add(child);
+                }
+
+                while (!queue.isEmpty()) {
+                    int state = queue.poll();
+
+                    for (int i = 0; i < keys[state].length; i++) {
+                        char key = keys[state][i];
+                        int child = destinations[state][i];
+
+                        int failure = failures[state];
+                        while (failure != 0 && step(failure, key) == -1) {
+                            failure = failures[failure];
+                        }
+                        int next = step(failure, key);
+                        failures[child] = next == -1 || next == child ? 0 : next;
+                        accepts[child] |= accepts[failures[child]];
+
+                        queue.add(child);
+                    }
+                }
+            }
+
+            /**
+             * Test whether the specified value contains any token.
+             * 
+             * @param value
+             * @return
+             */
+            private boolean find(String value) {
+                if (accepts[0]) {
+                    return true;
+                }
+
+                int state = 0;
+                for (int i = 0; i < value.length(); i++) {
+                    char c = fold(value.charAt(i));
+
+                    int next;
+                    while ((next = step(state, c)) == -1 && state != 0) {
+                        state = failures[state];
+                    }
+                    state = next == -1 ? 0 : next;
+
+                    if (accepts[state]) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            /**
+             * Compute the next state.
+             * 
+             * @param state The current state.
+             * @param c The input character.
+             * @return The next state or -1.
+             */
+            private int step(int state, char c) {
+                int index = Arrays.binarySearch(keys[state], c);
+                return index < 0 ? -1 : destinations[state][index];
+            }
+
+            /**
+             * Fold the character case in the same way as {@link String#regionMatches(boolean, int,
+             * String, int, int)}.
+             * 
+             * @param c
+             * @return
+             */
+            private static char fold(char c) {
+                return Character.toLowerCase(Character.toUpperCase(c));
+            }
+        }
     }
 
     /**
@@ -432,22 +774,17 @@ public class CompoundQuery<M> implements Predicate<M>, Disposable {
         public final Variable<V> input = Variable.empty();
 
         /** The associated {@link Matcher}. */
-        public final Variable<Tester<V>> tester = Variable.<Tester<V>> empty().intercept((oldTester, newTester) -> {
-            // normalize the current input
-            normalized = newTester.apply(input.v);
-
-            // normalize the input in future
-            input.intercept((oldInput, newInput) -> {
-                normalized = newTester.apply(newInput);
-                return newInput;
-            });
-
-            return newTester;
-        });
+        public final Variable<Tester<V>> tester = Variable.empty();
 
         /** The normalized input. */
         private V normalized;
 
+        /** The relation between the latest condition and the previous one. */
+        private Refinement refinement = Refinement.Unknown;
+
+        /** The extracted value cache for each model, null means no caching. */
+        private volatile Memo<M, V> memo;
+
         /** The deconstruction. */
         private Disposable disposer;
 
@@ -462,6 +799,52 @@ public class CompoundQuery<M> implements Predicate<M>, Disposable {
             this.name = Objects.requireNonNull(name);
             this.type = Objects.requireNonNull(type);
             this.extractor = Objects.requireNonNull(extractor);
+
+            tester.intercept((oldTester, newTester) -> {
+                V next = newTester == null ? null : newTester.apply(input.v);
+
+                if (oldTester == newTester || input.v == null || oldTester == null) {
+                    refinement = Refinement.Narrowing;
+                } else if (newTester == null) {
+                    refinement = Refinement.Widening;
+                } else {
+                    refinement = Refinement.Unknown;
+                }
+                normalized = next;
+
+                return newTester;
+            });
+
+            input.intercept((oldInput, newInput) -> {
+                Tester<V> current = tester.v;
+                V next = current == null ? null : current.apply(newInput);
+
+                if (current == null || oldInput == null) {
+                    refinement = Refinement.Narrowing;
+                } else if (newInput == null) {
+                    refinement = Refinement.Widening;
+                } else {
+                    refinement = current.refine(normalized, next);
+                }
+                normalized = next;
+
+                return newInput;
+            });
+        }
+
+        /**
+         * Cache the extracted value for each model. It is useful when the extractor is expensive
+         * (e.g. formatting). The value is cached by the identity of model and doesn't prevent the
+         * model from being garbage collected. The cached value is evicted by
+         * {@link CompoundQuery#evict(Object)}.
+         * 
+         * @return Chainable API.
+         */
+        public Query<M, V> memoize() {
+            if (memo == null) {
+                memo = new Memo();
+            }
+            return this;
         }
 
         /**
@@ -472,8 +855,149 @@ public class CompoundQuery<M> implements Predicate<M>, Disposable {
             if (model == null || tester.v == null || input.v == null) {
                 return true;
             } else {
-                return tester.v.test(normalized, extractor.apply(model));
+                return tester.v.test(normalized, extract(model));
+            }
+        }
+
+        /**
+         * Capture the current condition.
+         * 
+         * @return The immutable predicate, or null if this query accepts all models.
+         */
+        private Predicate<M> snapshot() {
+            Tester<V> tester = this.tester.v;
+            V normalized = this.normalized;
+
+            if (tester == null || input.v == null) {
+                return null;
+            } else {
+                return model -> model == null || tester.test(normalized, extract(model));
+            }
+        }
+
+        /**
+         * Extract the value from the specified model.
+         * 
+         * @param model A target model.
+         * @return An extracted value.
+         */
+        private V extract(M model) {
+            Memo<M, V> memo = this.memo;
+            if (memo == null) {
+                return extractor.apply(model);
+            }
+
+            V value = memo.get(model);
+            if (value == null) {
+                value = extractor.apply(model);
+                if (value != null) {
+                    memo.put(model, value);
+                }
+            }
+            return value;
+        }
+    }
+
+    /**
+     * The value cache which is keyed by the identity of model. The model is weakly referenced.
+     */
+    private static final class Memo<M, V> {
+
+        /** The collected models. */
+        private final ReferenceQueue<M> queue = new ReferenceQueue();
+
+        /** The cached values. */
+        private final HashMap<Key<M>, V> values = new HashMap();
+
+        /**
+         * Get the cached value.
+         * 
+         * @param model A target model.
+         * @return The cached value or null.
+         */
+        private synchronized V get(M model) {
+            expunge();
+            return values.get(new Key(model, null));
+        }
+
+        /**
+         * Cache the value.
+         * 
+         * @param model A target model.
+         * @param value A value to cache.
+         */
+        private synchronized void put(M model, V value) {
+            expunge();
+            values.put(new Key(model, queue), value);
+        }
+
+        /**
+         * Remove the cached value.
+         * 
+         * @param model A target model.
+         */
+        private synchronized void remove(M model) {
+            values.remove(new Key(model, null));
+        }
+
+        /**
+         * Remove all cached values.
+         */
+        private synchronized void clear() {
+            values.clear();
+            expunge();
+        }
+
+        /**
+         * Remove the values of the collected models.
+         */
+        private void expunge() {
+            Object key;
+            while ((key = queue.poll()) != null) {
+                values.remove(key);
+            }
+        }
+    }
+
+    /**
+     * The weak reference to model which is compared by identity.
+     */
+    private static final class Key<M> extends WeakReference<M> {
+
+        /** The identity hash of model. */
+        private final int hash;
+
+        /**
+         * @param model A target model.
+         * @param queue The queue to notify the collection.
+         */
+        private Key(M model, ReferenceQueue<M> queue) {
+            super(model, queue);
+            this.hash = System.identityHashCode(model);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+
+            if (obj instanceof Key other) {
+                Object model = get();
+                return model != null && model == other.get();
             }
+            return false;
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,679 @@
+/*
+ * Copyright (C) 2024 The VIEWTIFY Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package viewtify.update;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+import kiss.I;
+import viewtify.Viewtify;
+import viewtify.WorkerScheduler.Kind;
+import viewtify.task.Monitor;
+import viewtify.task.Throughput;
+
+/**
+ * Streaming zip extractor. The archive is read through the memory-mapped file channel, the stored
+ * entries are transferred to the file without copy and the deflated entries are inflated from the
+ * mapped buffer. The entries are extracted in parallel on the CPU lane and the progress is reported
+ * by the extracted bytes. When any entry fails, the remaining entries are cancelled and all
+ * extracted files are deleted.
+ */
+final class ArchiveExtractor implements Closeable {
+
+    /** The signature of end of central directory. */
+    private static final int EOCD = 0x06054b50;
+
+    /** The signature of zip64 end of central directory locator. */
+    private static final int EOCD64_LOCATOR = 0x07064b50;
+
+    /** The signature of zip64 end of central directory. */
+    private static final int EOCD64 = 0x06064b50;
+
+    /** The signature of central directory header. */
+    private static final int CENTRAL = 0x02014b50;
+
+    /** The signature of local file header. */
+    private static final int LOCAL = 0x04034b50;
+
+    /** The compression method. */
+    private static final int STORED = 0;
+
+    /** The compression method. */
+    private static final int DEFLATED = 8;
+
+    /** The buffer size to inflate. */
+    private static final int BUFFER = 64 * 1024;
+
+    /** The minimum interval of progress notification. (ns) */
+    private static final long INTERVAL = 50_000_000;
+
+    /** The maximum size of the mapped region. */
+    private static final long CHUNK = 1 << 30;
+
+    /** The archive. */
+    private final FileChannel channel;
+
+    /** The archive entries. */
+    private final List<Entry> entries;
+
+    /** The maximum size of the mapped region. */
+    private final long chunk;
+
+    /**
+     * Open the archive.
+     * 
+     * @param archive
+     */
+    ArchiveExtractor(Path archive) throws IOException {
+        this(archive, CHUNK);
+    }
+
+    /**
+     * Open the archive.
+     * 
+     * @param archive
+     * @param chunk The maximum size of the mapped region.
+     */
+    ArchiveExtractor(Path archive, long chunk) throws IOException {
+        this.channel = FileChannel.open(archive, StandardOpenOption.READ);
+        this.chunk = chunk;
+
+        try {
+            this.entries = readEntries();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Extract all entries of the archive into the directory. The directory entries are created
+     * even if they are empty.
+     * 
+     * @param archive The archive.
+     * @param directory The output directory.
+     * @param monitor The progress monitor.
+     */
+    static void unpack(Path archive, Path directory, Monitor<?> monitor) throws IOException {
+        Path base = directory.toAbsolutePath().normalize();
+
+        try (ArchiveExtractor zip = new ArchiveExtractor(archive)) {
+            for (Entry entry : zip.entries) {
+                if (entry.isDirectory()) {
+                    Files.createDirectories(resolve(base, entry.name));
+                }
+            }
+
+            List<Entry> files = zip.entries.stream().filter(entry -> !entry.isDirectory()).toList();
+            zip.extract(files, entry -> resolve(base, entry.name), monitor);
+        }
+    }
+
+    /**
+     * Resolve the entry path in the specified directory.
+     * 
+     * @param directory The base directory.
+     * @param name The entry path.
+     * @return
+     */
+    static Path resolve(Path directory, String name) {
+        Path path = directory.resolve(name).normalize();
+        if (!path.startsWith(directory)) {
+            throw new IllegalArgumentException("Entry [" + name + "] is outside of " + directory + ".");
+        }
+        return path;
+    }
+
+    /**
+     * Get all entries.
+     * 
+     * @return
+     */
+    List<Entry> entries() {
+        return entries;
+    }
+
+    /**
+     * Find the entry by name.
+     * 
+     * @param name
+     * @return The entry or null.
+     */
+    Entry entry(String name) {
+        for (Entry entry : entries) {
+            if (entry.name.equals(name)) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Read the contents of the small entry.
+     * 
+     * @param entry
+     * @return
+     */
+    byte[] read(Entry entry) throws IOException {
+        if (Integer.MAX_VALUE - 8 < entry.size) {
+            throw new IOException("Entry [" + entry.name + "] is too large to read.");
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate((int) entry.size);
+        inflate(entry, buffer::put);
+        return buffer.array();
+    }
+
+    /**
+     * Extract the entries into the directory in parallel. The calling thread extracts the entries
+     * too, so the extraction completes even if all workers are busy.
+     * 
+     * @param targets The entries to extract.
+     * @param resolver The output file for each entry.
+     * @param monitor The progress monitor.
+     */
+    void extract(List<Entry> targets, Function<Entry, Path> resolver, Monitor<?> monitor) {
+        Throughput throughput = new Throughput(targets.stream().mapToLong(entry -> entry.size).sum(), targets.size());
+        AtomicLong notified = new AtomicLong(System.nanoTime());
+
+        // extract the larger entry first to balance the load
+        Extraction extraction = new Extraction(targets.stream().sorted(Comparator.comparingLong((Entry entry) -> entry.size).reversed()).toList());
+        Runnable task = () -> extraction.run(entry -> {
+            Path file = resolver.apply(entry);
+            extraction.written(file);
+            extract(entry, file, throughput, () -> {
+                if (extraction.failure != null) {
+                    throw new CancellationException();
+                }
+
+                long now = System.nanoTime();
+                long last = notified.get();
+                if (INTERVAL <= now - last && notified.compareAndSet(last, now)) {
+                    synchronized (monitor) {
+                        monitor.complete(throughput);
+                    }
+                }
+            });
+        });
+
+        int workers = Math.min(targets.size(), Runtime.getRuntime().availableProcessors()) - 1;
+        for (int i = 0; i < workers; i++) {
+            Viewtify.inWorker(Kind.CPU, task);
+        }
+        task.run();
+        extraction.await();
+
+        if (extraction.failure != null) {
+            // delete the partial output
+            for (Path file : extraction.files) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    extraction.failure.addSuppressed(e);
+                }
+            }
+            throw I.quiet(extraction.failure);
+        }
+
+        synchronized (monitor) {
+            monitor.complete(throughput);
+        }
+    }
+
+    /**
+     * Extract the entry into the file.
+     * 
+     * @param entry
+     * @param file
+     * @param throughput
+     * @param notifier
+     */
+    private void extract(Entry entry, Path file, Throughput throughput, Runnable notifier) throws IOException {
+        Files.createDirectories(file.getParent());
+
+        try (FileChannel output = FileChannel
+                .open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            if (entry.method == STORED) {
+                long offset = dataOffset(entry);
+                CRC32 crc = new CRC32();
+                for (long position = 0; position < entry.size; position += chunk) {
+                    crc.update(channel.map(MapMode.READ_ONLY, offset + position, Math.min(chunk, entry.size - position)));
+                }
+                verify(entry, crc);
+
+                // transfer without copy into user space
+                long position = 0;
+                while (position < entry.size) {
+                    long transferred = channel.transferTo(offset + position, entry.size - position, output);
+                    if (transferred <= 0) {
+                        throw new ZipException("Entry [" + entry.name + "] is truncated.");
+                    }
+                    position += transferred;
+                    throughput.bytes(transferred);
+                    notifier.run();
+                }
+            } else {
+                inflate(entry, buffer -> {
+                    int size = buffer.remaining();
+                    while (buffer.hasRemaining()) {
+                        output.write(buffer);
+                    }
+                    throughput.bytes(size);
+                    notifier.run();
+                });
+            }
+        }
+        Files.setLastModifiedTime(file, entry.modified);
+        throughput.file();
+    }
+
+    /**
+     * Inflate the entry.
+     * 
+     * @param entry
+     * @param output
+     */
+    private void inflate(Entry entry, Output output) throws IOException {
+        long offset = dataOffset(entry);
+
+        if (entry.method == STORED) {
+            CRC32 crc = new CRC32();
+            for (long position = 0; position < entry.size; position += chunk) {
+                MappedByteBuffer buffer = channel.map(MapMode.READ_ONLY, offset + position, Math.min(chunk, entry.size - position));
+                crc.update(buffer.duplicate());
+                output.write(buffer);
+            }
+            verify(entry, crc);
+            return;
+        }
+
+        if (entry.method != DEFLATED) {
+            throw new ZipException("Entry [" + entry.name + "] uses unsupported compression method " + entry.method + ".");
+        }
+
+        Inflater inflater = new Inflater(true);
+        try {
+            CRC32 crc = new CRC32();
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER);
+            long mapped = 0;
+            boolean padded = false;
+
+            while (!inflater.finished()) {
+                int size = inflater.inflate(buffer);
+                if (size == 0) {
+                    if (inflater.needsDictionary() || padded) {
+                        throw new ZipException("Entry [" + entry.name + "] is truncated.");
+                    }
+                    if (inflater.needsInput()) {
+                        if (mapped < entry.compressed) {
+                            // map the compressed data by chunk
+                            long length = Math.min(chunk, entry.compressed - mapped);
+                            inflater.setInput(channel.map(MapMode.READ_ONLY, offset + mapped, length));
+                            mapped += length;
+                        } else {
+                            // zlib may require an extra dummy byte in nowrap mode
+                            inflater.setInput(new byte[1]);
+                            padded = true;
+                        }
+                    }
+                    continue;
+                }
+
+                buffer.flip();
+                crc.update(buffer.duplicate());
+                output.write(buffer);
+                buffer.clear();
+            }
+            verify(entry, crc);
+        } catch (DataFormatException e) {
+            throw new ZipException("Entry [" + entry.name + "] is broken. " + e.getMessage());
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Verify the extracted data.
+     * 
+     * @param entry
+     * @param crc
+     */
+    private void verify(Entry entry, CRC32 crc) throws ZipException {
+        if (crc.getValue() != entry.crc) {
+            throw new ZipException("Entry [" + entry.name + "] has invalid CRC.");
+        }
+    }
+
+    /**
+     * Compute the start position of the entry data from the local file header.
+     * 
+     * @param entry
+     * @return
+     */
+    private long dataOffset(Entry entry) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(30).order(ByteOrder.LITTLE_ENDIAN);
+        channel.read(header, entry.offset);
+        if (header.position() != 30 || header.getInt(0) != LOCAL) {
+            throw new ZipException("Entry [" + entry.name + "] has invalid local header.");
+        }
+        return entry.offset + 30 + Short.toUnsignedInt(header.getShort(26)) + Short.toUnsignedInt(header.getShort(28));
+    }
+
+    /**
+     * Read all entries from the central directory.
+     * 
+     * @return
+     */
+    private List<Entry> readEntries() throws IOException {
+        long size = channel.size();
+        int tail = (int) Math.min(size, 22 + 0xFFFF);
+        MappedByteBuffer end = channel.map(MapMode.READ_ONLY, size - tail, tail);
+        end.order(ByteOrder.LITTLE_ENDIAN);
+
+        int eocd = -1;
+        for (int i = tail - 22; 0 <= i; i--) {
+            if (end.getInt(i) == EOCD) {
+                eocd = i;
+                break;
+            }
+        }
+        if (eocd == -1) {
+            throw new ZipException("End of central directory is not found.");
+        }
+
+        long count = Short.toUnsignedInt(end.getShort(eocd + 10));
+        long length = Integer.toUnsignedLong(end.getInt(eocd + 12));
+        long start = Integer.toUnsignedLong(end.getInt(eocd + 16));
+
+        // zip64
+        if (20 <= eocd && end.getInt(eocd - 20) == EOCD64_LOCATOR) {
+            ByteBuffer zip64 = ByteBuffer.allocate(56).order(ByteOrder.LITTLE_ENDIAN);
+            channel.read(zip64, end.getLong(eocd - 20 + 8));
+            if (zip64.getInt(0) == EOCD64) {
+                count = zip64.getLong(32);
+                length = zip64.getLong(40);
+                start = zip64.getLong(48);
+            }
+        }
+
+        MappedByteBuffer central = channel.map(MapMode.READ_ONLY, start, length);
+        central.order(ByteOrder.LITTLE_ENDIAN);
+
+        List<Entry> entries = new ArrayList();
+        int position = 0;
+        for (long i = 0; i < count; i++) {
+            if (central.getInt(position) != CENTRAL) {
+                throw new ZipException("Central directory is broken.");
+            }
+
+            int method = Short.toUnsignedInt(central.getShort(position + 10));
+            int time = Short.toUnsignedInt(central.getShort(position + 12));
+            int date = Short.toUnsignedInt(central.getShort(position + 14));
+            long crc = Integer.toUnsignedLong(central.getInt(position + 16));
+            long compressed = Integer.toUnsignedLong(central.getInt(position + 20));
+            long uncompressed = Integer.toUnsignedLong(central.getInt(position + 24));
+            int nameLength = Short.toUnsignedInt(central.getShort(position + 28));
+            int extraLength = Short.toUnsignedInt(central.getShort(position + 30));
+            int commentLength = Short.toUnsignedInt(central.getShort(position + 32));
+            long offset = Integer.toUnsignedLong(central.getInt(position + 42));
+
+            byte[] name = new byte[nameLength];
+            central.get(position + 46, name);
+
+            // zip64 extended information
+            int extra = position + 46 + nameLength;
+            int extraEnd = extra + extraLength;
+            while (extra + 4 <= extraEnd) {
+                int id = Short.toUnsignedInt(central.getShort(extra));
+                int data = Short.toUnsignedInt(central.getShort(extra + 2));
+                if (id == 0x0001) {
+                    int field = extra + 4;
+                    if (uncompressed == 0xFFFFFFFFL) {
+                        uncompressed = central.getLong(field);
+                        field += 8;
+                    }
+                    if (compressed == 0xFFFFFFFFL) {
+                        compressed = central.getLong(field);
+                        field += 8;
+                    }
+                    if (offset == 0xFFFFFFFFL) {
+                        offset = central.getLong(field);
+                    }
+                }
+                extra += 4 + data;
+            }
+
+            entries.add(new Entry(new String(name, StandardCharsets.UTF_8), method, crc, compressed, uncompressed, offset, time(date, time)));
+            position += 46 + nameLength + extraLength + commentLength;
+        }
+        return entries;
+    }
+
+    /**
+     * Convert MS-DOS date and time.
+     * 
+     * @param date
+     * @param time
+     * @return
+     */
+    private static FileTime time(int date, int time) {
+        try {
+            LocalDateTime local = LocalDateTime
+                    .of((date >> 9 & 0x7F) + 1980, date >> 5 & 0x0F, date & 0x1F, time >> 11 & 0x1F, time >> 5 & 0x3F, (time & 0x1F) * 2);
+            return FileTime.from(local.atZone(ZoneId.systemDefault()).toInstant());
+        } catch (Exception e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * The archive entry.
+     */
+    static final class Entry {
+
+        /** The path. */
+        final String name;
+
+        /** The compression method. */
+        final int method;
+
+        /** The CRC-32 of contents. */
+        final long crc;
+
+        /** The compressed size. */
+        final long compressed;
+
+        /** The uncompressed size. */
+        final long size;
+
+        /** The position of local file header. */
+        final long offset;
+
+        /** The last modified time. */
+        final FileTime modified;
+
+        /**
+         * Hide constructor.
+         */
+        private Entry(String name, int method, long crc, long compressed, long size, long offset, FileTime modified) {
+            this.name = name;
+            this.method = method;
+            this.crc = crc;
+            this.compressed = compressed;
+            this.size = size;
+            this.offset = offset;
+            this.modified = modified;
+        }
+
+        /**
+         * Check whether this entry is directory or not.
+         * 
+         * @return
+         */
+        boolean isDirectory() {
+            return name.endsWith("/");
+        }
+    }
+
+    /**
+     * The state of the parallel extraction.
+     */
+    private static final class Extraction {
+
+        /** The entries to extract. */
+        private final List<Entry> entries;
+
+        /** The written files. (guarded by this) */
+        private final List<Path> files = new ArrayList();
+
+        /** The index of the next entry. (guarded by this) */
+        private int next;
+
+        /** The number of the running extractions. (guarded by this) */
+        private int active;
+
+        /** The first failure. */
+        private volatile Throwable failure;
+
+        /**
+         * @param entries
+         */
+        private Extraction(List<Entry> entries) {
+            this.entries = entries;
+        }
+
+        /**
+         * Extract the entries until all entries are claimed or any extraction fails.
+         * 
+         * @param extractor
+         */
+        private void run(EntryExtractor extractor) {
+            Entry entry;
+            while ((entry = claim()) != null) {
+                Throwable error = null;
+                try {
+                    extractor.extract(entry);
+                } catch (Throwable e) {
+                    error = e;
+                } finally {
+                    release(error);
+                }
+            }
+        }
+
+        /**
+         * Claim the next entry.
+         * 
+         * @return The entry or null if there is no entry to extract.
+         */
+        private synchronized Entry claim() {
+            if (failure != null || next == entries.size()) {
+                return null;
+            }
+            active++;
+            return entries.get(next++);
+        }
+
+        /**
+         * Release the claimed entry.
+         * 
+         * @param error The failure or null.
+         */
+        private synchronized void release(Throwable error) {
+            if (error != null && failure == null) {
+                failure = error;
+            }
+            active--;
+            notifyAll();
+        }
+
+        /**
+         * Record the written file.
+         * 
+         * @param file
+         */
+        private synchronized void written(Path file) {
+            files.add(file);
+        }
+
+        /**
+         * Wait until all claimed entries are released.
+         */
+        private synchronized void await() {
+            boolean interrupted = false;
+            while (active != 0) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    // stop claiming, but wait for the running extractions to delete their output
+                    interrupted = true;
+                    if (failure == null) failure = e;
+                }
+            }
+            if (interrupted) Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * The extraction of the single entry.
+     */
+    private interface EntryExtractor {
+
+        /**
+         * Extract the entry.
+         * 
+         * @param entry
+         */
+        void extract(Entry entry) throws IOException;
+    }
+
+    /**
+     * The output of extracted data.
+     */
+    private interface Output {
+
+        /**
+         * Write the extracted data.
+         * 
+         * @param buffer
+         */
+        void write(ByteBuffer buffer) throws IOException;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,506 @@
+/*
+ * Copyright (C) 2024 The VIEWTIFY Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package viewtify.update;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import psychopath.Directory;
+import psychopath.File;
+import viewtify.task.Monitor;
+import viewtify.task.Throughput;
+import viewtify.update.ArchiveExtractor.Entry;
+
+/**
+ * Differential update which replaces only the changed files of the application. The changed entries
+ * are detected by the content hash and are extracted into the staging directory by
+ * {@link ArchiveExtractor}. The updater runs from the complete copy of the current application, and
+ * it moves the staged files into the application directory. Every replaced or deleted file is kept
+ * in the backup directory until the installation is completed, so the failed installation is
+ * reverted. The installation is reversible but not atomic, the crash of the updater process leaves
+ * the partially installed files and the backup directory.
+ * <p>
+ * Only the files which are listed in the installed manifest are deleted, the files which are not
+ * managed by the application (e.g. the user's data or plugins) are never removed.
+ */
+final class DeltaUpdate {
+
+    /** The manifest entry in archive. Each line is the SHA-256 hash and the path of file. */
+    static final String MANIFEST = ".manifest";
+
+    /** The staging directory of the changed files in the application directory. */
+    static final String STAGING = ".updater.delta";
+
+    /** The backup directory of the replaced files in the application directory. */
+    static final String BACKUP = ".updater.backup";
+
+    /** The list of the files to delete, it is stored in the staging directory. */
+    private static final String DELETION = ".delete";
+
+    /** The buffer size to read file. */
+    private static final int BUFFER = 64 * 1024;
+
+    /**
+     * Hide constructor.
+     */
+    private DeltaUpdate() {
+    }
+
+    /**
+     * Prepare the runnable updater and extract the changed entries of the archive into the staging
+     * directory. The updater must not run from the files which it replaces, so the first update
+     * copies the whole application and the later updates copy only the modified files.
+     * 
+     * @param archive The new version.
+     * @param origin The current application.
+     * @param monitor The progress monitor.
+     */
+    static void prepare(File archive, Blueprint origin, Monitor<?> monitor) throws Exception {
+        Path base = origin.root.asJavaPath().normalize();
+
+        // ====================================
+        // copy the current application to run updater
+        // ====================================
+        monitor.message("Preparing the updater.", 0);
+        mirror(base, origin.updater().root.asJavaPath().normalize());
+
+        prepare(archive, origin.root, origin.root.directory(STAGING), monitor.spawn(90));
+    }
+
+    /**
+     * Extract the changed entries of the archive into the staging directory.
+     * 
+     * @param archive The new version.
+     * @param root The application directory.
+     * @param staging The staging directory.
+     * @param monitor The progress monitor.
+     */
+    static void prepare(File archive, Directory root, Directory staging, Monitor<?> monitor) throws Exception {
+        Path base = root.asJavaPath().normalize();
+        Path stage = staging.asJavaPath().normalize();
+        clean(stage);
+        Files.createDirectories(stage);
+
+        try (ArchiveExtractor zip = new ArchiveExtractor(archive.asJavaPath())) {
+            Map<String, String> manifest = readManifest(zip);
+            List<Entry> entries = zip.entries().stream().filter(entry -> !entry.isDirectory() && isManaged(entry.name)).toList();
+
+            // ====================================
+            // detect the changed entries
+            // ====================================
+            monitor.message("Comparing " + entries.size() + " files.", 0);
+            List<Entry> changed = entries.parallelStream()
+                    .filter(entry -> isChanged(entry, manifest, ArchiveExtractor.resolve(base, entry.name)))
+                    .toList();
+
+            // ====================================
+            // extract the changed entries
+            // ====================================
+            monitor.message("Extracting " + changed.size() + " changed files.", 10);
+            zip.extract(changed, entry -> ArchiveExtractor.resolve(stage, entry.name), monitor.spawn(90));
+
+            // the new manifest is installed to detect the removed files at the next update
+            Entry manifestEntry = zip.entry(MANIFEST);
+            if (manifestEntry != null) {
+                Files.write(stage.resolve(MANIFEST), zip.read(manifestEntry));
+            }
+
+            // ====================================
+            // detect the removed files
+            // ====================================
+            Set<String> names = new HashSet();
+            for (Entry entry : entries) {
+                names.add(entry.name);
+            }
+
+            // the files of the current version which are listed in the installed manifest
+            Set<String> removed = new LinkedHashSet();
+            Path installed = base.resolve(MANIFEST);
+            if (Files.isRegularFile(installed)) {
+                for (String line : Files.readAllLines(installed, StandardCharsets.UTF_8)) {
+                    int index = line.indexOf(' ');
+                    if (index != -1) {
+                        String name = line.substring(index + 1);
+                        if (isManaged(name) && !names.contains(name) && Files.isRegularFile(ArchiveExtractor.resolve(base, name))) {
+                            removed.add(name);
+                        }
+                    }
+                }
+            }
+
+            // the installed manifest is out of date if the new version has no manifest
+            if (manifestEntry == null && Files.isRegularFile(installed)) {
+                removed.add(MANIFEST);
+            }
+            Files.write(stage.resolve(DELETION), removed, StandardCharsets.UTF_8);
+        } catch (Throwable e) {
+            // discard the partial staging
+            clean(stage);
+            throw e;
+        }
+    }
+
+    /**
+     * Move the staged files into the application directory and delete the removed files.
+     * 
+     * @param origin The application to update.
+     * @param monitor The progress monitor.
+     */
+    static void install(Blueprint origin, Monitor<?> monitor) throws Exception {
+        install(origin.root.directory(STAGING), origin.root, monitor);
+    }
+
+    /**
+     * Move the staged files into the application directory and delete the removed files. The
+     * original files are moved into the backup directory, and they are restored if the installation
+     * is failed.
+     * 
+     * @param staging The staging directory.
+     * @param root The application directory.
+     * @param monitor The progress monitor.
+     */
+    static void install(Directory staging, Directory root, Monitor<?> monitor) throws Exception {
+        Path base = root.asJavaPath().normalize();
+        Path stage = staging.asJavaPath().normalize();
+        Path backup = base.resolve(BACKUP);
+        Path deletion = stage.resolve(DELETION);
+
+        List<Path> staged;
+        try (Stream<Path> files = Files.walk(stage)) {
+            staged = files.filter(Files::isRegularFile).filter(file -> !file.equals(deletion)).toList();
+        }
+
+        List<String> removed = new ArrayList();
+        if (Files.isRegularFile(deletion)) {
+            for (String name : Files.readAllLines(deletion, StandardCharsets.UTF_8)) {
+                if (!name.isEmpty()) removed.add(name);
+            }
+        }
+
+        clean(backup);
+
+        // the installed files in order, and whether the original file was backed up or not
+        List<String> journal = new ArrayList();
+        List<Boolean> backedUp = new ArrayList();
+
+        try {
+            Throughput throughput = new Throughput(0, staged.size() + removed.size());
+            for (Path file : staged) {
+                String name = name(stage, file);
+                Path target = ArchiveExtractor.resolve(base, name);
+
+                boolean saved = backup(base, backup, name);
+                journal.add(name);
+                backedUp.add(saved);
+                Files.createDirectories(target.getParent());
+                move(file, target);
+
+                throughput.file();
+                monitor.complete(throughput);
+            }
+
+            for (String name : removed) {
+                boolean saved = backup(base, backup, name);
+                journal.add(name);
+                backedUp.add(saved);
+
+                throughput.file();
+                monitor.complete(throughput);
+            }
+        } catch (Throwable e) {
+            rollback(base, backup, journal, backedUp);
+            throw e;
+        }
+
+        clean(backup);
+        clean(stage);
+    }
+
+    /**
+     * Move the original file into the backup directory.
+     * 
+     * @param base The application directory.
+     * @param backup The backup directory.
+     * @param name The file name.
+     * @return true if the original file exists.
+     */
+    private static boolean backup(Path base, Path backup, String name) throws IOException {
+        Path original = ArchiveExtractor.resolve(base, name);
+        if (Files.notExists(original)) {
+            return false;
+        }
+
+        Path saved = ArchiveExtractor.resolve(backup, name);
+        Files.createDirectories(saved.getParent());
+        move(original, saved);
+        return true;
+    }
+
+    /**
+     * Restore the original files in reverse order.
+     * 
+     * @param base The application directory.
+     * @param backup The backup directory.
+     * @param journal The installed or deleted files.
+     * @param backedUp Whether the original file was backed up or not.
+     */
+    private static void rollback(Path base, Path backup, List<String> journal, List<Boolean> backedUp) throws IOException {
+        for (int i = journal.size() - 1; 0 <= i; i--) {
+            String name = journal.get(i);
+            Path target = ArchiveExtractor.resolve(base, name);
+            Path saved = ArchiveExtractor.resolve(backup, name);
+
+            if (backedUp.get(i)) {
+                if (Files.exists(saved)) {
+                    Files.createDirectories(target.getParent());
+                    move(saved, target);
+                }
+            } else if (Files.isRegularFile(target)) {
+                Files.delete(target);
+            }
+        }
+        clean(backup);
+    }
+
+    /**
+     * Copy the application files into the updater directory. The files which have the same size and
+     * modified time are not copied again, and the files which are not in the application are
+     * deleted.
+     * 
+     * @param base The application directory.
+     * @param runtime The updater directory.
+     */
+    static void mirror(Path base, Path runtime) throws IOException {
+        Set<String> names = new HashSet();
+        for (String name : list(base)) {
+            names.add(name);
+
+            Path source = base.resolve(name);
+            Path target = runtime.resolve(name);
+            if (!Files.isRegularFile(target) || Files.size(target) != Files.size(source) || !Files.getLastModifiedTime(target)
+                    .equals(Files.getLastModifiedTime(source))) {
+                Files.createDirectories(target.getParent());
+                Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES);
+            }
+        }
+
+        if (Files.isDirectory(runtime)) {
+            try (Stream<Path> files = Files.walk(runtime)) {
+                for (Path file : files.filter(Files::isRegularFile).toList()) {
+                    if (!names.contains(name(runtime, file))) {
+                        Files.delete(file);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Write the manifest of the application files into the root of the specified directory.
+     * 
+     * @param root The application directory to archive.
+     */
+    static void writeManifest(Directory root) throws Exception {
+        Path base = root.asJavaPath().normalize();
+
+        List<String> manifest = new ArrayList();
+        for (String name : list(base).stream().sorted().toList()) {
+            manifest.add(sha256(base.resolve(name)) + " " + name);
+        }
+        Files.write(base.resolve(MANIFEST), manifest, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * List the application files. The hidden directories in the application directory are skipped.
+     * 
+     * @param base The application directory.
+     * @return The relative paths of the application files.
+     */
+    private static List<String> list(Path base) throws IOException {
+        List<String> names = new ArrayList();
+
+        Files.walkFileTree(base, new SimpleFileVisitor<Path>() {
+
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                return base.equals(dir) || !(dir.getParent().equals(base) && dir.getFileName().toString().startsWith("."))
+                        ? FileVisitResult.CONTINUE
+                        : FileVisitResult.SKIP_SUBTREE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                String name = name(base, file);
+                if (attrs.isRegularFile() && isManaged(name)) {
+                    names.add(name);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return names;
+    }
+
+    /**
+     * Compute the entry name of the file.
+     * 
+     * @param base The base directory.
+     * @param file The file in the base directory.
+     * @return
+     */
+    private static String name(Path base, Path file) {
+        return base.relativize(file).toString().replace('\\', '/');
+    }
+
+    /**
+     * Move the file by atomic rename if the file system supports it.
+     * 
+     * @param from
+     * @param to
+     */
+    private static void move(Path from, Path to) throws IOException {
+        try {
+            Files.move(from, to, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(from, to, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Read the manifest in the archive.
+     * 
+     * @param zip The archive.
+     * @return The hash for each path, or null if the archive has no manifest.
+     */
+    private static Map<String, String> readManifest(ArchiveExtractor zip) throws IOException {
+        Entry entry = zip.entry(MANIFEST);
+        if (entry == null) {
+            return null;
+        }
+
+        Map<String, String> manifest = new HashMap();
+        for (String line : new String(zip.read(entry), StandardCharsets.UTF_8).split("\\R")) {
+            int index = line.indexOf(' ');
+            if (index != -1) {
+                manifest.put(line.substring(index + 1), line.substring(0, index));
+            }
+        }
+        return manifest;
+    }
+
+    /**
+     * Check whether the entry is copied into the application directory or not. The manifest and the
+     * hidden directories are excluded.
+     * 
+     * @param name An entry name.
+     * @return
+     */
+    private static boolean isManaged(String name) {
+        return !name.startsWith(".") || (name.indexOf('/') == -1 && !name.equals(MANIFEST) && !name.equals(DELETION));
+    }
+
+    /**
+     * Compare the entry with the installed file. The SHA-256 hash in manifest is used if it is
+     * available, otherwise the CRC-32 recorded in the archive is used.
+     * 
+     * @param entry The archive entry.
+     * @param manifest The manifest.
+     * @param installed The installed file.
+     * @return
+     */
+    private static boolean isChanged(Entry entry, Map<String, String> manifest, Path installed) {
+        try {
+            if (!Files.isRegularFile(installed) || Files.size(installed) != entry.size) {
+                return true;
+            }
+
+            String hash = manifest == null ? null : manifest.get(entry.name);
+            if (hash != null) {
+                return !hash.equalsIgnoreCase(sha256(installed));
+            } else {
+                return entry.crc != crc32(installed);
+            }
+        } catch (Exception e) {
+            return true;
+        }
+    }
+
+    /**
+     * Compute SHA-256 hash of the file.
+     * 
+     * @param file
+     * @return
+     */
+    private static String sha256(Path file) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        byte[] buffer = new byte[BUFFER];
+
+        try (InputStream input = Files.newInputStream(file)) {
+            int size;
+            while ((size = input.read(buffer)) != -1) {
+                digest.update(buffer, 0, size);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Compute CRC-32 of the file.
+     * 
+     * @param file
+     * @return
+     */
+    private static long crc32(Path file) throws IOException {
+        CRC32 crc = new CRC32();
+        byte[] buffer = new byte[BUFFER];
+
+        try (InputStream input = Files.newInputStream(file)) {
+            int size;
+            while ((size = input.read(buffer)) != -1) {
+                crc.update(buffer, 0, size);
+            }
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * Delete the directory and its contents.
+     * 
+     * @param directory
+     */
+    static void clean(Path directory) throws IOException {
+        if (Files.exists(directory)) {
+            try (Stream<Path> paths = Files.walk(directory)) {
+                for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(path);
+                }
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -68,6 +68,21 @@ public class Update {
         return null;
     }
 
+    /**
+     * Write the manifest of content hashes into the application directory before archiving it. The
+     * differential update compares files by the hashes in manifest, or by CRC-32 of the archive
+     * entries when the manifest is absent.
+     * 
+     * @param directory An application directory to archive.
+     */
+    public static void writeManifest(String directory) {
+        try {
+            DeltaUpdate.writeManifest(Locator.directory(directory));
+        } catch (Exception e) {
+            throw I.quiet(e);
+        }
+    }
+
     /**
      * Build the update task for the specified new version.
      */
@@ -82,6 +97,17 @@ public class Update {
      * @param forcibly Force to update or not.
      */
     public static void apply(String archive, boolean forcibly) {
+        apply(archive, forcibly, Preferences.of(UpdateSetting.class).differential.is(true));
+    }
+
+    /**
+     * Build the update task for the specified new version.
+     * 
+     * @param archive A location of new version.
+     * @param forcibly Force to update or not.
+     * @param differential Replace only the changed files or not.
+     */
+    public static void apply(String archive, boolean forcibly, boolean differential) {
         File file = Locator.file(archive).absolutize();
         Directory updateDir = Locator.directory(".updater").absolutize();
         Blueprint origin = Blueprint.detect();
@@ -99,7 +125,19 @@ public class Update {
             // unpack archive
             // ====================================
             monitor.message("Prepare to update.", 2);
-            file.trackUnpackingTo(updateDir, option -> option).to(monitor.spawn(98));
+            if (differential) {
+                DeltaUpdate.prepare(file, origin, monitor.spawn(98));
+            } else {
+                // discard the updater which was copied by the differential update
+                DeltaUpdate.clean(updateDir.asJavaPath());
+                try {
+                    ArchiveExtractor.unpack(file.asJavaPath(), updateDir.asJavaPath(), monitor.spawn(98));
+                } catch (Throwable e) {
+                    // discard the partial output
+                    DeltaUpdate.clean(updateDir.asJavaPath());
+                    throw e;
+                }
+            }
             monitor.message("Ready for update.", 100);
         };
 
@@ -129,9 +167,13 @@ public class Update {
                                 // ====================================
                                 // copy resources
                                 // ====================================
-                                List<String> patterns = updateDir.children().map(c -> c.isFile() ? c.name() : c.name() + "/**").toList();
-                                patterns.add("!.*/**");
-                                updateDir.trackCopyingTo(origin.root, o -> o.strip().glob(patterns).replaceDifferent().sync()).to(monitor);
+                                if (differential) {
+                                    DeltaUpdate.install(origin, monitor);
+                                } else {
+                                    List<String> patterns = updateDir.children().map(c -> c.isFile() ? c.name() : c.name() + "/**").toList();
+                                    patterns.add("!.*/**");
+                                    updateDir.trackCopyingTo(origin.root, o -> o.strip().glob(patterns).replaceDifferent().sync()).to(monitor);
+                                }
 
                                 // ====================================
                                 // update version
@@ -18,4 +18,7 @@ public class UpdateSetting extends Preferences {
 
     /** The enable status. */
     public final Preference<Boolean> checkOnStartup = initialize(true);
+
+    /** The differential update mode which replaces only the changed files. */
+    public final Preference<Boolean> differential = initialize(false);
 }
\ No newline at end of file
@@ -109,11 +109,11 @@ public class Updater extends DialogView<MonitorableTask> {
         Viewtify.inWorker(() -> {
             try {
                 value.accept(new Monitor<Progress>(mes, per, (monitor, progress) -> {
-                    Thread.sleep(2);
-
                     monitor.complete(progress.rateByFiles());
-                    Viewtify.inUI(() -> detail.text(progress.location.name() + "  (" + formatFileSize(progress.location.size()) + ")"));
-                }));
+
+                    // show the latest file only
+                    Viewtify.inUI(detail, () -> detail.text(progress.location.name() + "  (" + formatFileSize(progress.location.size()) + ")"));
+                }, text -> Viewtify.inUI(detail, () -> detail.text(text))));
 
                 Viewtify.inUI(() -> {
                     percentage.text("");
@@ -0,0 +1,307 @@
+/*
+ * Copyright (C) 2024 The VIEWTIFY Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package viewtify.util;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import javafx.collections.ObservableList;
+import javafx.collections.ObservableListBase;
+
+import kiss.I;
+import viewtify.Viewtify;
+
+/**
+ * Read-only {@link ObservableList} which loads its items lazily page by page. Only the row count
+ * and the page loader are required, so the virtual flow (e.g. table or list) can browse the huge
+ * dataset without loading everything into heap. The requested page is loaded in the worker thread
+ * and the loaded pages are held in LRU cache. The placeholder is returned for the item which is
+ * not loaded yet. The page which failed to load is retried with exponential back-off while it is
+ * still displayed.
+ * <p>
+ * This list must be accessed from UI thread.
+ */
+public class PagedList<E> extends ObservableListBase<E> implements ObservableList<E> {
+
+    /** The page loader. */
+    private final Loader<E> loader;
+
+    /** The number of items. */
+    private int size;
+
+    /** The number of items in one page. */
+    private int pageSize = 100;
+
+    /** The maximum number of cached pages. */
+    private int cacheSize = 20;
+
+    /** The placeholder factory. */
+    private IntFunction<E> placeholder = index -> null;
+
+    /** The loaded pages in access order. */
+    private final LinkedHashMap<Integer, List<E>> pages = new LinkedHashMap<>(16, 0.75f, true) {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected boolean removeEldestEntry(Entry<Integer, List<E>> eldest) {
+            return cacheSize < size();
+        }
+    };
+
+    /** The requested pages in request order. */
+    private final LinkedHashSet<Integer> requests = new LinkedHashSet();
+
+    /** The loading pages, including the failed pages waiting for the retry. */
+    private final Set<Integer> loading = new HashSet();
+
+    /** The number of consecutive failures by page. */
+    private final Map<Integer, Integer> failures = new HashMap();
+
+    /** The generation to discard the outdated page. */
+    private long generation;
+
+    /**
+     * Build the lazy paged list.
+     * 
+     * @param size The number of items.
+     * @param loader The page loader.
+     */
+    public PagedList(int size, Loader<E> loader) {
+        this.size = Math.max(0, size);
+        this.loader = Objects.requireNonNull(loader);
+    }
+
+    /**
+     * Configure the number of items in one page.
+     * 
+     * @param pageSize The number of items in one page.
+     * @return Chainable API.
+     */
+    public PagedList<E> pageSize(int pageSize) {
+        if (0 < pageSize && this.pageSize != pageSize) {
+            this.pageSize = pageSize;
+            reset(size);
+        }
+        return this;
+    }
+
+    /**
+     * Configure the maximum number of cached pages.
+     * 
+     * @param cacheSize The maximum number of cached pages.
+     * @return Chainable API.
+     */
+    public PagedList<E> cacheSize(int cacheSize) {
+        if (0 < cacheSize) {
+            this.cacheSize = cacheSize;
+        }
+        return this;
+    }
+
+    /**
+     * Configure the placeholder for the item which is not loaded yet.
+     * 
+     * @param placeholder The placeholder factory by index.
+     * @return Chainable API.
+     */
+    public PagedList<E> placeholder(IntFunction<E> placeholder) {
+        if (placeholder != null) {
+            this.placeholder = placeholder;
+        }
+        return this;
+    }
+
+    /**
+     * Discard all loaded pages and change the number of items.
+     * 
+     * @param size The number of items.
+     */
+    public void reset(int size) {
+        int old = this.size;
+
+        this.size = Math.max(0, size);
+        this.generation++;
+        pages.clear();
+        requests.clear();
+        loading.clear();
+        failures.clear();
+
+        beginChange();
+        nextReplace(0, this.size, Collections.nCopies(old, null));
+        endChange();
+    }
+
+    /**
+     * Check whether the item at the specified index is loaded or not.
+     * 
+     * @param index An index of item.
+     * @return A result.
+     */
+    public boolean isLoaded(int index) {
+        return 0 <= index && index < size && pages.containsKey(index / pageSize);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public E get(int index) {
+        Objects.checkIndex(index, size);
+
+        int page = index / pageSize;
+        List<E> rows = pages.get(page);
+        if (rows == null) {
+            request(page);
+        } else {
+            int offset = index - page * pageSize;
+            if (offset < rows.size()) {
+                return rows.get(offset);
+            }
+        }
+        return placeholder.apply(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Request to load the specified page. All requests at a time are coalesced and only the most
+     * recent pages which fit into the cache are actually loaded.
+     * 
+     * @param page A page number.
+     */
+    private void request(int page) {
+        if (!loading.contains(page)) {
+            requests.remove(page);
+            requests.add(page);
+
+            if (requests.size() == 1) {
+                Viewtify.inUILater(this::dispatch);
+            }
+        }
+    }
+
+    /**
+     * Load the requested pages in the worker thread.
+     */
+    private void dispatch() {
+        Integer[] targets = requests.toArray(Integer[]::new);
+        requests.clear();
+
+        long current = generation;
+        int total = size;
+        int length = pageSize;
+
+        for (int i = Math.max(0, targets.length - cacheSize); i < targets.length; i++) {
+            int page = targets[i];
+
+            if (!pages.containsKey(page) && loading.add(page)) {
+                Viewtify.inWorker(() -> {
+                    int offset = page * length;
+                    List<E> rows = null;
+                    try {
+                        rows = loader.page(offset, Math.min(length, total - offset));
+                    } finally {
+                        // notify even if the loader fails, otherwise the page is stuck in loading
+                        List<E> result = rows;
+                        Viewtify.inUI(() -> loaded(page, result, current));
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Store the loaded page and notify the modification.
+     * 
+     * @param page A page number.
+     * @param rows The loaded items, or null if the loader failed.
+     * @param loadedGeneration The generation at loading.
+     */
+    private void loaded(int page, List<E> rows, long loadedGeneration) {
+        if (loadedGeneration == generation) {
+            if (rows == null) {
+                // keep the page in loading until the back-off expires
+                int count = failures.merge(page, 1, Integer::sum);
+                long delay = Math.min(60000, 250L << Math.min(count - 1, 8));
+
+                I.schedule(delay, TimeUnit.MILLISECONDS).to(() -> Viewtify.inUI(() -> retry(page, loadedGeneration)));
+            } else {
+                loading.remove(page);
+                failures.remove(page);
+                pages.put(page, rows);
+                changed(page, rows.size());
+            }
+        }
+    }
+
+    /**
+     * Allow to load the failed page again and notify its items, so the displayed items request it.
+     * 
+     * @param page A page number.
+     * @param failedGeneration The generation at loading.
+     */
+    private void retry(int page, long failedGeneration) {
+        if (failedGeneration == generation && loading.remove(page)) {
+            changed(page, pageSize);
+        }
+    }
+
+    /**
+     * Notify the modification of the items in the specified page.
+     * 
+     * @param page A page number.
+     * @param length The number of modified items.
+     */
+    private void changed(int page, int length) {
+        int start = page * pageSize;
+        int end = Math.min(size, start + length);
+        if (start < end) {
+            beginChange();
+            for (int i = start; i < end; i++) {
+                nextSet(i, placeholder.apply(i));
+            }
+            endChange();
+        }
+    }
+
+    /**
+     * The page loader.
+     */
+    public interface Loader<E> {
+
+        /**
+         * Load the items in the specified range.
+         * 
+         * @param offset The index of the first item.
+         * @param limit The maximum number of items.
+         * @return The loaded items. Returning null (or throwing) marks the page as failed, and it is
+         *         retried later.
+         */
+        List<E> page(int offset, int limit);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2024 The VIEWTIFY Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package viewtify;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javafx.application.Platform;
+
+import org.junit.jupiter.api.Test;
+
+class UIDispatcherTest extends JavaFXTester {
+
+    @Test
+    void conflate() throws Exception {
+        UIDispatcher dispatcher = new UIDispatcher();
+        List<String> executed = new CopyOnWriteArrayList();
+
+        // block UI thread while tasks are requested
+        CountDownLatch gate = new CountDownLatch(1);
+        Platform.runLater(() -> {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                throw new Error(e);
+            }
+        });
+
+        dispatcher.execute("key", () -> executed.add("1"));
+        dispatcher.execute("key", () -> executed.add("2"));
+        dispatcher.execute("key", () -> executed.add("3"));
+        dispatcher.execute("other", () -> executed.add("other"));
+        assert dispatcher.conflated() == 2;
+
+        gate.countDown();
+        awaitUI();
+        assert executed.equals(List.of("3", "other"));
+    }
+
+    @Test
+    void cancel() throws Exception {
+        UIDispatcher dispatcher = new UIDispatcher();
+        List<String> executed = new CopyOnWriteArrayList();
+
+        CountDownLatch gate = new CountDownLatch(1);
+        Platform.runLater(() -> {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                throw new Error(e);
+            }
+        });
+
+        dispatcher.execute("key", () -> executed.add("1"));
+        dispatcher.cancel("key");
+        assert dispatcher.conflated() == 1;
+
+        gate.countDown();
+        awaitUI();
+        assert executed.isEmpty();
+    }
+
+    @Test
+    void pulse() throws Exception {
+        UIDispatcher dispatcher = new UIDispatcher().pulse(true);
+        CountDownLatch latch = new CountDownLatch(100);
+
+        for (int i = 0; i < 100; i++) {
+            dispatcher.execute(latch::countDown);
+        }
+        assert latch.await(5, TimeUnit.SECONDS);
+        assert dispatcher.queueDepth() == 0;
+    }
+
+    /**
+     * Wait until all tasks in UI thread are executed.
+     */
+    private void awaitUI() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        Platform.runLater(latch::countDown);
+        assert latch.await(5, TimeUnit.SECONDS);
+    }
+}
\ No newline at end of file
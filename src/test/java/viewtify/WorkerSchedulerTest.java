@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2024 The VIEWTIFY Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package viewtify;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import viewtify.WorkerScheduler.Kind;
+
+class WorkerSchedulerTest {
+
+    @Test
+    void blockingTasksDontSerialize() throws Exception {
+        WorkerScheduler scheduler = new WorkerScheduler();
+        CountDownLatch gate = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(10);
+
+        for (int i = 0; i < 10; i++) {
+            scheduler.execute(Kind.IO, () -> {
+                started.countDown();
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    throw new Error(e);
+                }
+            });
+        }
+
+        assert started.await(5, TimeUnit.SECONDS);
+        assert scheduler.activeTasks(Kind.IO) == 10;
+        assert scheduler.queueLength(Kind.IO) == 0;
+
+        gate.countDown();
+    }
+
+    @Test
+    void boundedParallelism() throws Exception {
+        WorkerScheduler scheduler = new WorkerScheduler().parallelism(1);
+        CountDownLatch gate = new CountDownLatch(1);
+        CountDownLatch completed = new CountDownLatch(3);
+
+        for (int i = 0; i < 3; i++) {
+            scheduler.execute(Kind.CPU, () -> {
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    throw new Error(e);
+                }
+                completed.countDown();
+            });
+        }
+
+        // wait for the first task to start
+        while (scheduler.activeTasks(Kind.CPU) == 0) {
+            Thread.sleep(10);
+        }
+        assert scheduler.activeTasks(Kind.CPU) == 1;
+        assert scheduler.queueLength(Kind.CPU) == 2;
+
+        gate.countDown();
+        assert completed.await(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void changeParallelismWhileSubmitting() throws Exception {
+        WorkerScheduler scheduler = new WorkerScheduler();
+        CountDownLatch completed = new CountDownLatch(1000);
+
+        Thread submitter = new Thread(() -> {
+            for (int i = 0; i < 1000; i++) {
+                scheduler.execute(Kind.CPU, completed::countDown);
+            }
+        });
+        submitter.start();
+
+        for (int i = 0; i < 20; i++) {
+            scheduler.parallelism(i % 2 + 1);
+        }
+        submitter.join();
+
+        assert completed.await(5, TimeUnit.SECONDS);
+
+        // the statistics are updated after the task itself
+        while (scheduler.completedTasks(Kind.CPU) < 1000) {
+            Thread.sleep(10);
+        }
+        assert scheduler.queueLength(Kind.CPU) == 0;
+    }
+
+    @Test
+    void parallelismMustBePositive() {
+        WorkerScheduler scheduler = new WorkerScheduler();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> scheduler.parallelism(0));
+    }
+}
\ No newline at end of file
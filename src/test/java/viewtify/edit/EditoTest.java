@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2024 The VIEWTIFY Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package viewtify.edit;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import viewtify.JavaFXTester;
+import viewtify.ui.UIListView;
+
+class EditoTest extends JavaFXTester {
+
+    @Test
+    void replaceItem() {
+        UIListView<String> ui = new UIListView(null);
+        ui.items("a", "b", "c");
+
+        Edito edito = new Edito();
+        edito.manageList(ui, list -> {
+        });
+        assert edito.isEditing() == false;
+
+        ui.items().set(1, "x");
+        assert edito.isEditing();
+
+        ui.items().set(1, "b");
+        assert edito.isEditing() == false;
+    }
+
+    @Test
+    void shiftItem() {
+        UIListView<String> ui = new UIListView(null);
+        ui.items("a", "b", "c");
+
+        Edito edito = new Edito();
+        edito.manageList(ui, list -> {
+        });
+
+        ui.items().add(0, "x");
+        assert edito.isEditing();
+
+        ui.items().remove(0);
+        assert edito.isEditing() == false;
+    }
+
+    @Test
+    void modifyItemInPlace() {
+        UIListView<Row> ui = new UIListView(null);
+        Row row = new Row(1);
+        ui.items(row, new Row(2));
+
+        Edito edito = new Edito();
+        edito.manageList(ui, list -> {
+        });
+
+        row.value = 10;
+        ui.items().set(0, row);
+        assert edito.isEditing();
+
+        edito.save();
+        assert edito.isEditing() == false;
+    }
+
+    @Test
+    void copyReplacedItem() {
+        UIListView<Row> ui = new UIListView(null);
+        Row row = new Row(1);
+        ui.items(row, new Row(2));
+
+        Edito edito = new Edito();
+        edito.manageList(ui, list -> {
+        });
+
+        ui.items().set(0, new Row(5));
+        assert edito.isEditing();
+
+        // the removed item doesn't affect the snapshot
+        row.value = 5;
+        ui.items().set(0, new Row(1));
+        assert edito.isEditing() == false;
+    }
+
+    @Test
+    void copyNestedItems() {
+        UIListView<ArrayList<Row>> ui = new UIListView(null);
+        Row row = new Row(1);
+        ui.items(new ArrayList(List.of(new ArrayList(List.of(row)))));
+
+        Edito edito = new Edito();
+        edito.manageList(ui, list -> {
+        });
+
+        ui.items().set(0, new ArrayList());
+        row.value = 5;
+
+        edito.revert();
+        assert ui.items().get(0).equals(List.of(new Row(1)));
+    }
+
+    @Test
+    void revert() {
+        UIListView<Row> ui = new UIListView(null);
+        ui.items(new Row(1), new Row(2));
+
+        Edito edito = new Edito();
+        edito.manageList(ui, list -> {
+        });
+
+        ui.items().set(0, new Row(5));
+        assert edito.isEditing();
+
+        edito.revert();
+        assert edito.isEditing() == false;
+        assert ui.items().equals(List.of(new Row(1), new Row(2)));
+    }
+
+    /**
+     * Mutable row.
+     */
+    private static class Row implements Cloneable, Serializable {
+
+        private int value;
+
+        private Row(int value) {
+            this.value = value;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Row clone() {
+            return new Row(value);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int hashCode() {
+            return value;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Row other && other.value == value;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2024 The VIEWTIFY Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package viewtify.ui;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javafx.scene.chart.XYChart.Data;
+
+import antibug.profiler.Benchmark;
+import viewtify.ui.UILineChart.Track;
+
+class LineChartBenchmark {
+
+    public static void main(String[] args) {
+        Benchmark benchmark = new Benchmark();
+
+        int size = 100000;
+        List<Data<Integer, Double>> points = new ArrayList();
+        for (int i = 0; i < size; i++) {
+            points.add(new Data(i, Math.sin(i / 100d)));
+        }
+
+        Track<Integer, Double> track = new Track(new ArrayList());
+        track.add(points);
+
+        int[] linear = {0};
+        benchmark.measure("Linear Hover", () -> {
+            long x = (linear[0] += 7919) % size;
+            for (Data<Integer, Double> data : points) {
+                if (data.getXValue().longValue() == x) {
+                    return data;
+                }
+            }
+            return null;
+        });
+
+        int[] binary = {0};
+        benchmark.measure("Binary Hover", () -> {
+            return track.nearest((binary[0] += 7919) % size);
+        });
+
+        benchmark.measure("Append", () -> {
+            Track<Integer, Double> appended = new Track(new ArrayList());
+            for (int i = 0; i < 1000; i++) {
+                appended.add(List.of(points.get(i)));
+            }
+            return appended;
+        });
+
+        benchmark.measure("Append + Decimate", () -> {
+            Track<Integer, Double> appended = new Track(new ArrayList());
+            appended.add(points);
+            return appended.decimate(appended.min(), appended.max(), 1920);
+        });
+
+        benchmark.perform();
+    }
+}
\ No newline at end of file
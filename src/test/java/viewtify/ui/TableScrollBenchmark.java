@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2024 The VIEWTIFY Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package viewtify.ui;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.control.TableView;
+
+import antibug.profiler.Benchmark;
+import viewtify.JavaFXHeadlessTester;
+import viewtify.property.SmartProperty;
+
+class TableScrollBenchmark extends JavaFXHeadlessTester {
+
+    private static final int ROWS = 10000;
+
+    private static final int COLUMNS = 50;
+
+    public static void main(String[] args) {
+        Platform.startup(() -> {
+        });
+
+        Benchmark benchmark = new Benchmark();
+
+        scroll(benchmark, "Property per Lookup", column -> {
+            column.ui.setCellValueFactory(v -> new SmartProperty(v.getValue().value * 2));
+        });
+
+        scroll(benchmark, "Cached Property", column -> {
+            column.model(row -> row.value * 2);
+        });
+
+        scroll(benchmark, "Cached Primitive", column -> {
+            column.modelByInt(row -> row.value * 2);
+        });
+
+        benchmark.perform();
+    }
+
+    /**
+     * Measure the fling-scrolling of the wide table.
+     * 
+     * @param benchmark
+     * @param name
+     * @param model
+     */
+    private static void scroll(Benchmark benchmark, String name, Consumer<UITableColumn<Row, Integer>> model) {
+        TableView<Row> table = inFX(() -> {
+            TableView<Row> view = new TableView();
+            for (int i = 0; i < COLUMNS; i++) {
+                UITableColumn<Row, Integer> column = new UITableColumn(null, Row.class, Integer.class);
+                model.accept(column);
+                view.getColumns().add(column.ui);
+            }
+            for (int i = 0; i < ROWS; i++) {
+                view.getItems().add(new Row(i));
+            }
+            new Scene(view, 1920, 1080);
+            return view;
+        });
+
+        int[] index = {0};
+        benchmark.measure(name, () -> inFX(() -> {
+            table.scrollTo(index[0] = (index[0] + 37) % ROWS);
+            table.layout();
+            return table;
+        }));
+    }
+
+    /**
+     * Execute the given process in JavaFX thread and wait for the result.
+     * 
+     * @param process
+     * @return
+     */
+    private static <T> T inFX(Supplier<T> process) {
+        CompletableFuture<T> future = new CompletableFuture();
+        Platform.runLater(() -> {
+            try {
+                future.complete(process.get());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future.join();
+    }
+
+    /**
+     * Simple row.
+     */
+    private static class Row {
+
+        private final int value;
+
+        private Row(int value) {
+            this.value = value;
+        }
+    }
+}
\ No newline at end of file
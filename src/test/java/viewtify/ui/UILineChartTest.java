@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2024 The VIEWTIFY Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package viewtify.ui;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.scene.chart.XYChart.Data;
+
+import org.junit.jupiter.api.Test;
+
+import viewtify.ui.UILineChart.Track;
+
+class UILineChartTest {
+
+    private Track<Double, Double> track(double... xs) {
+        List<Data<Double, Double>> points = new ArrayList();
+        for (double x : xs) {
+            points.add(new Data(x, x * 10));
+        }
+
+        Track<Double, Double> track = new Track(new ArrayList());
+        track.add(points);
+        return track;
+    }
+
+    @Test
+    void nearest() {
+        Track<Double, Double> track = track(1, 2, 4, 8);
+        assert track.nearest(0).getXValue() == 1;
+        assert track.nearest(2.9).getXValue() == 2;
+        assert track.nearest(3.1).getXValue() == 4;
+        assert track.nearest(8).getXValue() == 8;
+        assert track.nearest(100).getXValue() == 8;
+    }
+
+    @Test
+    void nearestUnordered() {
+        Track<Double, Double> track = track(8, 1, 4, 2);
+        assert track.nearest(2.9).getXValue() == 2;
+        assert track.nearest(7).getXValue() == 8;
+        assert track.min() == 1;
+        assert track.max() == 8;
+    }
+
+    @Test
+    void nearestEmpty() {
+        assert track().nearest(1) == null;
+    }
+
+    @Test
+    void trim() {
+        Track<Double, Double> track = track(1, 2, 3, 4, 5);
+        track.trim(3);
+        assert track.points.size() == 3;
+        assert track.min() == 3;
+        assert track.max() == 5;
+        assert track.nearest(1).getXValue() == 3;
+    }
+
+    @Test
+    void trimUnordered() {
+        Track<Double, Double> track = track(9, 1, 2, 3);
+        track.trim(2);
+        assert track.points.size() == 2;
+        assert track.min() == 2;
+        assert track.max() == 3;
+    }
+
+    @Test
+    void trimUnderflow() {
+        Track<Double, Double> track = track(1, 2);
+        track.trim(10);
+        assert track.points.size() == 2;
+    }
+
+    @Test
+    void decimate() {
+        double[] xs = new double[1000];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = i;
+        }
+
+        List<Data<Double, Double>> points = track(xs).decimate(0, 999, 10);
+        assert points.size() <= 20;
+        assert points.get(0).getXValue() == 0;
+        assert points.get(points.size() - 1).getXValue() == 999;
+    }
+
+    @Test
+    void decimateFew() {
+        List<Data<Double, Double>> points = track(1, 2, 3).decimate(1, 3, 10);
+        assert points.size() == 3;
+    }
+
+    @Test
+    void decimateKeepOuterPoints() {
+        List<Data<Double, Double>> points = track(0, 1, 2, 3, 4).decimate(1.5, 2.5, 10);
+        assert points.size() == 3;
+        assert points.get(0).getXValue() == 1;
+        assert points.get(1).getXValue() == 2;
+        assert points.get(2).getXValue() == 3;
+    }
+
+    @Test
+    void patch() {
+        List<String> shown = new ArrayList(List.of("a", "b", "c", "d"));
+        List<String> inserted = Track.patch(shown, List.of("a", "c", "x", "y", "d", "z"));
+        assert shown.equals(List.of("a", "c", "x", "y", "d", "z"));
+        assert inserted.equals(List.of("x", "y", "z"));
+    }
+
+    @Test
+    void patchKeepsRetainedInstances() {
+        Data<Double, Double> one = new Data(1d, 1d);
+        Data<Double, Double> two = new Data(2d, 2d);
+        Data<Double, Double> three = new Data(3d, 3d);
+        ObservableList<Data<Double, Double>> shown = FXCollections.observableArrayList(one, three);
+
+        List<ListChangeListener.Change> changes = new ArrayList();
+        shown.addListener((ListChangeListener<Data<Double, Double>>) changes::add);
+
+        List<Data<Double, Double>> inserted = Track.patch(shown, List.of(one, two, three));
+        assert inserted.equals(List.of(two));
+        assert shown.get(0) == one;
+        assert shown.get(2) == three;
+
+        // nothing is removed, only the missing point is added
+        assert changes.size() == 1;
+    }
+
+    @Test
+    void patchUnordered() {
+        List<String> shown = new ArrayList(List.of("b", "a"));
+        Track.patch(shown, List.of("a", "b"));
+        assert shown.equals(List.of("a", "b"));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2024 The VIEWTIFY Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package viewtify.ui;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.control.TableColumn.CellDataFeatures;
+
+import org.junit.jupiter.api.Test;
+
+import kiss.Signaling;
+import viewtify.JavaFXTester;
+
+class UITableColumnTest extends JavaFXTester {
+
+    private <R, C> ObservableValue<C> cell(UITableColumn<R, C> column, R row) {
+        return column.ui.getCellValueFactory().call(new CellDataFeatures(null, column.ui, row));
+    }
+
+    @Test
+    void modelIsCachedByRowIdentity() {
+        UITableColumn<String, Integer> column = new UITableColumn(null, String.class, Integer.class);
+        column.model(String::length);
+
+        String row = "row";
+        assert cell(column, row) == cell(column, row);
+        assert cell(column, row) != cell(column, new String(row));
+        assert cell(column, row).getValue() == 3;
+    }
+
+    @Test
+    void modelByPrimitive() {
+        UITableColumn<String, Integer> column = new UITableColumn(null, String.class, Integer.class);
+        column.modelByInt(String::length);
+        assert cell(column, "row").getValue() == 3;
+
+        UITableColumn<String, Long> longs = new UITableColumn(null, String.class, Long.class);
+        longs.modelByLong(row -> row.length() * 10L);
+        assert cell(longs, "row").getValue() == 30L;
+
+        UITableColumn<String, Double> doubles = new UITableColumn(null, String.class, Double.class);
+        doubles.modelByDouble(row -> row.length() / 2d);
+        assert cell(doubles, "row").getValue() == 1.5;
+
+        // the boxed value is reused
+        ObservableValue<Integer> value = cell(column, "large row".repeat(100));
+        assert value.getValue() == value.getValue();
+    }
+
+    @Test
+    void modelBySignalSubscribesWhileListened() {
+        Signaling<Integer> signaling = new Signaling();
+        UITableColumn<String, Integer> column = new UITableColumn(null, String.class, Integer.class);
+        column.modelBySignal(row -> signaling.expose);
+
+        ObservableValue<Integer> value = cell(column, "row");
+        assert column.liveSubscriptions() == 0;
+
+        InvalidationListener listener = o -> {
+        };
+        value.addListener(listener);
+        assert column.liveSubscriptions() == 1;
+
+        signaling.accept(10);
+        assert value.getValue() == 10;
+        assert column.queueDepth() == 0;
+
+        value.removeListener(listener);
+        assert column.liveSubscriptions() == 0;
+
+        signaling.accept(20);
+        assert value.getValue() == 10;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,229 @@
+/*
+ * Copyright (C) 2024 The VIEWTIFY Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package viewtify.ui.calendar;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import kiss.I;
+import kiss.Signal;
+
+class TimeEventCacheTest {
+
+    /** The unique name generator. */
+    private static final AtomicInteger counter = new AtomicInteger();
+
+    @Test
+    void slice() {
+        Source source = new Source(event("A", 1, 10), event("B", 1, 30, 2, 2), event("C", 2, 5));
+
+        assert titles(TimeEventCache.query(source, date(1, 1), date(1, 31))).equals(List.of("A", "B"));
+        assert titles(TimeEventCache.query(source, date(1, 11), date(1, 29))).isEmpty();
+        assert titles(TimeEventCache.query(source, date(2, 1), date(2, 28))).equals(List.of("B", "C"));
+        assert titles(TimeEventCache.query(source, date(1, 1), date(2, 28))).equals(List.of("A", "B", "C"));
+        assert titles(TimeEventCache.query(source, date(2, 2), date(2, 2))).equals(List.of("B"));
+        assert titles(TimeEventCache.query(source, date(2, 3), date(2, 3))).isEmpty();
+    }
+
+    @Test
+    void eventStartedBeforeRange() {
+        Source source = new Source(event("Long", 1, 20, 3, 10));
+
+        assert titles(TimeEventCache.query(source, date(2, 14), date(2, 14))).equals(List.of("Long"));
+        assert titles(TimeEventCache.query(source, date(2, 1), date(3, 31))).equals(List.of("Long"));
+    }
+
+    @Test
+    void prefetch() throws Exception {
+        Source source = new Source(event("A", 6, 1));
+
+        TimeEventCache.query(source, date(6, 1), date(6, 30));
+        assert source.loaded(6) == 1;
+
+        // the adjacent months are loaded in background
+        for (int i = 0; i < 100 && (source.loaded(5) == 0 || source.loaded(7) == 0); i++) {
+            Thread.sleep(20);
+        }
+        assert source.loaded(5) == 1;
+        assert source.loaded(7) == 1;
+
+        TimeEventCache.query(source, date(7, 1), date(7, 31));
+        assert source.loaded(7) == 1;
+    }
+
+    @Test
+    void evict() {
+        Source source = new Source();
+
+        YearMonth first = YearMonth.of(2000, 1);
+        for (int i = 0; i < 30; i++) {
+            YearMonth month = first.plusMonths(i);
+            TimeEventCache.query(source, month.atDay(1), month.atEndOfMonth());
+        }
+        assert source.loaded(first) == 1;
+
+        TimeEventCache.query(source, first.atDay(1), first.atEndOfMonth());
+        assert source.loaded(first) == 2;
+    }
+
+    @Test
+    void invalidate() {
+        Source source = new Source(event("A", 1, 10));
+        assert titles(TimeEventCache.query(source, date(1, 1), date(1, 31))).equals(List.of("A"));
+
+        // the cached events are used until invalidation
+        source.events.add(event("B", 1, 20));
+        assert titles(TimeEventCache.query(source, date(1, 1), date(1, 31))).equals(List.of("A"));
+
+        TimeEventCache.invalidate(source.name);
+        assert titles(TimeEventCache.query(source, date(1, 1), date(1, 31))).equals(List.of("A", "B"));
+
+        source.events.add(event("C", 1, 30));
+        TimeEventCache.invalidateAll();
+        assert titles(TimeEventCache.query(source, date(1, 1), date(1, 31))).equals(List.of("A", "B", "C"));
+    }
+
+    /**
+     * Build the date in 2000.
+     * 
+     * @param month
+     * @param day
+     * @return
+     */
+    private static LocalDate date(int month, int day) {
+        return LocalDate.of(2000, month, day);
+    }
+
+    /**
+     * Build the event in 2000.
+     * 
+     * @param title
+     * @param month
+     * @param day
+     * @return
+     */
+    private static Event event(String title, int month, int day) {
+        return event(title, month, day, month, day);
+    }
+
+    /**
+     * Build the event in 2000.
+     * 
+     * @param title
+     * @param startMonth
+     * @param startDay
+     * @param endMonth
+     * @param endDay
+     * @return
+     */
+    private static Event event(String title, int startMonth, int startDay, int endMonth, int endDay) {
+        return new Event(title, date(startMonth, startDay), date(endMonth, endDay));
+    }
+
+    /**
+     * Extract the sorted titles.
+     * 
+     * @param events
+     * @return
+     */
+    private static List<String> titles(List<TimeEvent> events) {
+        return events.stream().map(TimeEvent::title).sorted().toList();
+    }
+
+    /**
+     * Simple event.
+     */
+    private record Event(String title, LocalDate startDate, LocalDate endDate) implements TimeEvent {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public TimeEventSource source() {
+            return null;
+        }
+    }
+
+    /**
+     * In-memory source which counts the loaded months.
+     */
+    private static class Source implements TimeEventSource {
+
+        /** The unique name. */
+        private final String name = "TimeEventCacheTest" + counter.incrementAndGet();
+
+        /** The all events. */
+        private final List<TimeEvent> events = new CopyOnWriteArrayList();
+
+        /** The number of queries for each month. */
+        private final Map<YearMonth, AtomicInteger> loaded = new ConcurrentHashMap();
+
+        /**
+         * @param events
+         */
+        private Source(TimeEvent... events) {
+            this.events.addAll(List.of(events));
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String name() {
+            return name;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Signal<TimeEvent> query(LocalDate start, LocalDate end) {
+            loaded.computeIfAbsent(YearMonth.from(start), key -> new AtomicInteger()).incrementAndGet();
+
+            return I.signal(events).take(event -> !event.endDate().isBefore(start) && !event.startDate().isAfter(end));
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Signal<Integer> countOn(LocalDate day) {
+            return I.signal(0);
+        }
+
+        /**
+         * Count the loaded times of the month in 2000.
+         * 
+         * @param month
+         * @return
+         */
+        private int loaded(int month) {
+            return loaded(YearMonth.of(2000, month));
+        }
+
+        /**
+         * Count the loaded times of the month.
+         * 
+         * @param month
+         * @return
+         */
+        private int loaded(YearMonth month) {
+            AtomicInteger count = loaded.get(month);
+            return count == null ? 0 : count.get();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2024 The VIEWTIFY Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package viewtify.ui.calendar;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import kiss.I;
+import kiss.Signal;
+
+class TimeEventSourceTest {
+
+    @Test
+    void countBetweenQueriesOnce() {
+        List<LocalDate> queried = new ArrayList();
+        TimeEventSource source = new TimeEventSource() {
+
+            @Override
+            public Signal<TimeEvent> query(LocalDate start, LocalDate end) {
+                queried.add(start);
+                queried.add(end);
+                return I.signal(LocalDate.of(2024, 1, 29), LocalDate.of(2024, 1, 30), LocalDate.of(2024, 2, 2), LocalDate.of(2024, 2, 2))
+                        .map(TimeEventSourceTest::event);
+            }
+
+            @Override
+            public Signal<Integer> countOn(LocalDate day) {
+                throw new AssertionError("Counting must not call countOn.");
+            }
+        };
+
+        int[] counts = source.countBetween(LocalDate.of(2024, 1, 30), LocalDate.of(2024, 2, 2));
+        assert counts.length == 4;
+        assert counts[0] == 1;
+        assert counts[1] == 0;
+        assert counts[2] == 0;
+        assert counts[3] == 2;
+        assert queried.equals(List.of(LocalDate.of(2024, 1, 30), LocalDate.of(2024, 2, 2)));
+    }
+
+    @Test
+    void countEachDayDelegatesToCountOn() {
+        List<LocalDate> counted = new ArrayList();
+        TimeEventSource source = new TimeEventSource() {
+
+            @Override
+            public Signal<TimeEvent> query(LocalDate start, LocalDate end) {
+                throw new AssertionError("Counting must not load events.");
+            }
+
+            @Override
+            public Signal<Integer> countOn(LocalDate day) {
+                counted.add(day);
+                return I.signal(day.getDayOfMonth());
+            }
+        };
+
+        int[] counts = source.countEachDay(LocalDate.of(2024, 1, 30), LocalDate.of(2024, 2, 2));
+        assert counts.length == 4;
+        assert counts[0] == 30;
+        assert counts[1] == 31;
+        assert counts[2] == 1;
+        assert counts[3] == 2;
+        assert counted.size() == 4;
+    }
+
+    @Test
+    void countBetweenEmptyRange() {
+        TimeEventSource source = new TimeEventSource() {
+
+            @Override
+            public Signal<TimeEvent> query(LocalDate start, LocalDate end) {
+                throw new AssertionError();
+            }
+
+            @Override
+            public Signal<Integer> countOn(LocalDate day) {
+                throw new AssertionError();
+            }
+        };
+
+        assert source.countBetween(LocalDate.of(2024, 1, 2), LocalDate.of(2024, 1, 1)).length == 0;
+        assert source.countEachDay(LocalDate.of(2024, 1, 2), LocalDate.of(2024, 1, 1)).length == 0;
+    }
+
+    /**
+     * Create the event which starts on the specified day.
+     * 
+     * @param day
+     * @return
+     */
+    private static TimeEvent event(LocalDate day) {
+        return new TimeEvent() {
+
+            @Override
+            public String title() {
+                return day.toString();
+            }
+
+            @Override
+            public TimeEventSource source() {
+                return null;
+            }
+
+            @Override
+            public LocalDate startDate() {
+                return day;
+            }
+        };
+    }
+}
\ No newline at end of file
@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2024 The VIEWTIFY Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package viewtify.ui.calendar;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+import viewtify.JavaFXTester;
+
+class YearMonthViewTest extends JavaFXTester {
+
+    @Test
+    void heat() {
+        YearMonthView view = new YearMonthView();
+        view.ui();
+        view.set(LocalDate.of(2024, 2, 1));
+
+        int[] counts = new int[366];
+        counts[31] = 1;
+        counts[32] = 7;
+        view.set(counts, LocalDate.of(2024, 1, 1));
+
+        assert view.cell(LocalDate.of(2024, 2, 1)).hasStyle(YearMonthView.Styles.one.className()[0]);
+        assert view.cell(LocalDate.of(2024, 2, 2)).hasStyle(YearMonthView.Styles.five.className()[0]);
+        assert view.cell(LocalDate.of(2024, 2, 3)).hasStyle(YearMonthView.Styles.one.className()[0]) == false;
+    }
+
+    @Test
+    void heatIsReplaced() {
+        YearMonthView view = new YearMonthView();
+        view.ui();
+        view.set(LocalDate.of(2024, 2, 1));
+
+        int[] counts = new int[366];
+        counts[31] = 1;
+        view.set(counts, LocalDate.of(2024, 1, 1));
+
+        counts = new int[366];
+        counts[31] = 2;
+        view.set(counts, LocalDate.of(2024, 1, 1));
+
+        assert view.cell(LocalDate.of(2024, 2, 1)).hasStyle(YearMonthView.Styles.one.className()[0]) == false;
+        assert view.cell(LocalDate.of(2024, 2, 1)).hasStyle(YearMonthView.Styles.two.className()[0]);
+    }
+
+    @Test
+    void countsStartInOtherMonth() {
+        YearMonthView view = new YearMonthView();
+        view.ui();
+        view.set(LocalDate.of(2024, 2, 1));
+
+        // the counts start at the middle of February
+        int[] counts = new int[30];
+        counts[0] = 3;
+        view.set(counts, LocalDate.of(2024, 2, 15));
+
+        assert view.cell(LocalDate.of(2024, 2, 14)).hasStyle(YearMonthView.Styles.three.className()[0]) == false;
+        assert view.cell(LocalDate.of(2024, 2, 15)).hasStyle(YearMonthView.Styles.three.className()[0]);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,26 @@
+/*
+ * Copyright (C) 2024 The VIEWTIFY Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package viewtify.ui.calendar;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+class YearViewTest {
+
+    @Test
+    void discardStaleCounts() {
+        YearView view = new YearView();
+        view.currentDate = LocalDate.of(2024, 1, 1);
+
+        // the month views are not built, so applying the counts would fail
+        view.set(new int[366], LocalDate.of(2023, 1, 1));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2024 The VIEWTIFY Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package viewtify.ui.dock;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class DockIndexTest {
+
+    @Test
+    void add() {
+        DockIndex<String> index = new DockIndex();
+        index.update("A", List.of(), List.of("one", "two"));
+
+        assert index.find("one").equals("A");
+        assert index.find("two").equals("A");
+        assert index.find("three") == null;
+        assert index.find(null) == null;
+    }
+
+    @Test
+    void move() {
+        DockIndex<String> index = new DockIndex();
+        index.update("A", List.of(), List.of("one", "two"));
+
+        // the destination reports before the source
+        index.update("B", List.of(), List.of("one"));
+        index.update("A", List.of("one", "two"), List.of("two"));
+        assert index.find("one").equals("B");
+        assert index.find("two").equals("A");
+
+        // the source reports before the destination
+        index.update("B", List.of("one"), List.of());
+        index.update("A", List.of("two"), List.of("two", "one"));
+        assert index.find("one").equals("A");
+    }
+
+    @Test
+    void close() {
+        DockIndex<String> index = new DockIndex();
+        index.update("A", List.of(), List.of("one", "two"));
+        index.update("A", List.of("one", "two"), List.of("two"));
+
+        assert index.find("one") == null;
+        assert index.find("two").equals("A");
+    }
+
+    @Test
+    void restore() {
+        DockIndex<String> index = new DockIndex();
+
+        // the restored areas are indexed by their saved views
+        index.update("B", List.of(), List.of("one", "two"));
+        index.update("C", List.of(), List.of("three"));
+        assert index.find("one").equals("B");
+        assert index.find("three").equals("C");
+    }
+}
\ No newline at end of file
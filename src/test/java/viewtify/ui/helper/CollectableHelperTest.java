@@ -21,6 +21,10 @@ import javafx.beans.property.SimpleObjectProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import kiss.I;
+import kiss.Signaling;
+import kiss.Variable;
+import viewtify.ui.query.CompoundQuery.Query;
+import viewtify.ui.query.CompoundQuery.Tester;
 
 class CollectableHelperTest {
 
@@ -105,6 +109,119 @@ class CollectableHelperTest {
         Assertions.assertIterableEquals(List.of(4, 5), list.itemsProperty().getValue());
     }
 
+    @Test
+    void takeAsync() {
+        SimpleList<Integer> list = new SimpleList(1, 2, 3, 4, 5);
+        list.takeAsync(v -> v % 2 == 0);
+
+        Assertions.assertIterableEquals(List.of(2, 4), list.itemsProperty().getValue());
+    }
+
+    @Test
+    void takeAsyncInChunks() {
+        SimpleList<Integer> list = new SimpleList(IntStream.range(0, 5000).boxed().toArray());
+        list.takeAsync(v -> v % 1000 == 0);
+
+        Assertions.assertIterableEquals(List.of(0, 1000, 2000, 3000, 4000), list.itemsProperty().getValue());
+    }
+
+    @Test
+    void takeAsyncRecoversFromError() {
+        SimpleList<Integer> list = new SimpleList(1, 2, 3, 4, 5);
+        list.takeAsync(v -> {
+            throw new IllegalStateException();
+        });
+
+        list.takeAsync(v -> v % 2 == 0);
+        Assertions.assertIterableEquals(List.of(2, 4), list.itemsProperty().getValue());
+    }
+
+    @Test
+    void queryAsync() {
+        SimpleList<String> list = new SimpleList("one", "two", "three", "four", "five");
+        Query<String, String> query = list.queryAsync().addQuery("test");
+        query.tester.set(Tester.Contain);
+
+        query.input.set("o");
+        Assertions.assertIterableEquals(List.of("one", "two", "four"), list.itemsProperty().getValue());
+
+        query.input.set("on");
+        Assertions.assertIterableEquals(List.of("one"), list.itemsProperty().getValue());
+
+        query.input.set("f");
+        Assertions.assertIterableEquals(List.of("four", "five"), list.itemsProperty().getValue());
+    }
+
+    @Test
+    void observeItemState() {
+        Variable<Integer> one = Variable.of(1);
+        Variable<Integer> two = Variable.of(2);
+        Variable<Integer> three = Variable.of(3);
+
+        SimpleList<Variable<Integer>> list = new SimpleList();
+        list.observeItemState(v -> v);
+        list.take(v -> v.v % 2 == 0);
+        list.items(one, two, three);
+        Assertions.assertIterableEquals(List.of(two), list.itemsProperty().getValue());
+
+        one.set(4);
+        Assertions.assertIterableEquals(List.of(one, two), list.itemsProperty().getValue());
+
+        two.set(5);
+        three.set(6);
+        Assertions.assertIterableEquals(List.of(one, three), list.itemsProperty().getValue());
+    }
+
+    @Test
+    void observeItemStateInSwappedList() {
+        Variable<Integer> one = Variable.of(1);
+        Variable<Integer> two = Variable.of(2);
+        Variable<Integer> three = Variable.of(3);
+
+        SimpleList<Variable<Integer>> list = new SimpleList();
+        list.observeItemState(v -> v);
+        list.take(v -> v.v % 2 == 0);
+
+        ObservableList<Variable<Integer>> swapped = FXCollections.observableArrayList();
+        list.updateUnderlayModel(swapped);
+        swapped.addAll(one, two, three);
+        Assertions.assertIterableEquals(List.of(two), list.itemsProperty().getValue());
+
+        one.set(4);
+        Assertions.assertIterableEquals(List.of(one, two), list.itemsProperty().getValue());
+
+        // the positions must follow the structural change of the swapped list
+        swapped.remove(one);
+        three.set(6);
+        Assertions.assertIterableEquals(List.of(two, three), swapped);
+        Assertions.assertIterableEquals(List.of(two, three), list.itemsProperty().getValue());
+    }
+
+    @Test
+    void stream() {
+        Signaling<Integer> signaling = new Signaling();
+        SimpleList<Integer> list = new SimpleList(1);
+        list.stream(signaling.expose);
+
+        signaling.accept(2);
+        signaling.accept(3);
+        Assertions.assertIterableEquals(List.of(1, 2, 3), list.items());
+    }
+
+    @Test
+    void streamWithMaxSize() {
+        Signaling<Integer> signaling = new Signaling();
+        SimpleList<Integer> list = new SimpleList();
+        list.stream(signaling.expose, 3);
+
+        signaling.accept(1);
+        signaling.accept(2);
+        signaling.accept(3);
+        signaling.accept(4);
+        signaling.accept(5);
+        Assertions.assertIterableEquals(List.of(3, 4, 5), list.items());
+    }
+
     /**
      * Simple Implementation.
      */
@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2024 The VIEWTIFY Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package viewtify.ui.helper;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import javafx.application.Platform;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+import antibug.profiler.Benchmark;
+import viewtify.JavaFXHeadlessTester;
+
+class LoaderEffectBenchmark extends JavaFXHeadlessTester {
+
+    public static void main(String[] args) {
+        Platform.startup(() -> {
+        });
+
+        Benchmark benchmark = new Benchmark();
+
+        for (int size : new int[] {100, 400, 1000}) {
+            int[] frame = {0};
+            benchmark.measure("Per Pixel " + size, () -> inFX(() -> drawPerPixel(size, size, frame[0]++, Color.CORAL)));
+
+            LoaderEffect effect = inFX(LoaderEffect::new);
+            int[] reused = {0};
+            benchmark.measure("Reused Buffer " + size, () -> inFX(() -> effect.drawStripe(size, size, reused[0]++, Color.CORAL)));
+        }
+
+        benchmark.perform();
+    }
+
+    /**
+     * The previous implementation which allocates the image and writes each pixel.
+     * 
+     * @param width
+     * @param height
+     * @param frame
+     * @param color
+     * @return
+     */
+    private static WritableImage drawPerPixel(int width, int height, int frame, Color color) {
+        WritableImage image = new WritableImage(width, height);
+        PixelWriter writer = image.getPixelWriter();
+        int offset = frame % 9;
+
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                int diagonal = x - offset + y;
+                writer.setColor(x, y, diagonal < 0 || diagonal % 9 >= 3 ? Color.TRANSPARENT : color);
+            }
+        }
+        return image;
+    }
+
+    /**
+     * Execute the given process in JavaFX thread and wait for the result.
+     * 
+     * @param process
+     * @return
+     */
+    private static <T> T inFX(Supplier<T> process) {
+        CompletableFuture<T> future = new CompletableFuture();
+        Platform.runLater(() -> {
+            try {
+                future.complete(process.get());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future.join();
+    }
+}
\ No newline at end of file
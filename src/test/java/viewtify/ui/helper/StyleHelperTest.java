@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2024 The VIEWTIFY Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package viewtify.ui.helper;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javafx.collections.ListChangeListener;
+import javafx.scene.control.Label;
+
+import org.junit.jupiter.api.Test;
+
+import viewtify.JavaFXTester;
+
+class StyleHelperTest extends JavaFXTester {
+
+    @Test
+    void style() {
+        StyleHelper<?, Label> helper = StyleHelper.of(new Label());
+        helper.style("a", "b");
+        assert helper.hasStyle("a");
+        assert helper.hasStyle("b");
+        assert helper.ui().getStyleClass().equals(List.of("label", "a", "b"));
+    }
+
+    @Test
+    void unstyle() {
+        StyleHelper<?, Label> helper = StyleHelper.of(new Label());
+        helper.style("a", "b", "c");
+        helper.unstyle("b");
+        assert helper.hasStyle("b") == false;
+        assert helper.ui().getStyleClass().equals(List.of("label", "a", "c"));
+    }
+
+    @Test
+    void modifyAtOnce() {
+        StyleHelper<?, Label> helper = StyleHelper.of(new Label());
+        AtomicInteger changes = new AtomicInteger();
+        helper.ui().getStyleClass().addListener((ListChangeListener<String>) c -> changes.incrementAndGet());
+
+        helper.style("a", "b", "c", "d");
+        assert changes.get() == 1;
+
+        helper.style("a", "b");
+        assert changes.get() == 1;
+    }
+
+    @Test
+    void ignoreDuplication() {
+        StyleHelper<?, Label> helper = StyleHelper.of(new Label());
+        helper.style("a");
+        helper.style("a");
+        assert helper.ui().getStyleClass().equals(List.of("label", "a"));
+    }
+
+    @Test
+    void keepExistingDuplication() {
+        StyleHelper<?, Label> helper = StyleHelper.of(new Label());
+        helper.ui().getStyleClass().addAll("a", "b", "a");
+        helper.style("c");
+        assert helper.ui().getStyleClass().equals(List.of("label", "a", "b", "a", "c"));
+
+        helper.unstyle("b");
+        assert helper.ui().getStyleClass().equals(List.of("label", "a", "a", "c"));
+    }
+}
\ No newline at end of file
@@ -9,10 +9,13 @@
  */
 package viewtify.ui.query;
 
+import java.util.function.Predicate;
+
 import org.junit.jupiter.api.Test;
 
 import kiss.Variable;
 import viewtify.ui.query.CompoundQuery.Query;
+import viewtify.ui.query.CompoundQuery.Refinement;
 import viewtify.ui.query.CompoundQuery.Tester;
 
 class CompoundQueryTest {
@@ -76,4 +79,140 @@ class CompoundQueryTest {
         query.tester.set(Tester.Contain);
         assert updated.isPresent();
     }
+
+    @Test
+    void refinementByContain() {
+        CompoundQuery<String> compound = new CompoundQuery();
+        Query<String, String> query = compound.addQuery("test");
+        query.tester.set(Tester.Contain);
+
+        query.input.set("a");
+        assert compound.refinement() == Refinement.Narrowing;
+        query.input.set("ab");
+        assert compound.refinement() == Refinement.Narrowing;
+        query.input.set("b");
+        assert compound.refinement() == Refinement.Widening;
+        query.input.set("c");
+        assert compound.refinement() == Refinement.Unknown;
+        query.input.set(null);
+        assert compound.refinement() == Refinement.Widening;
+    }
+
+    @Test
+    void refinementByGreaterThan() {
+        CompoundQuery<Integer> compound = new CompoundQuery();
+        Query<Integer, Integer> query = compound.addQuery("test", Integer.class, v -> v);
+        query.tester.set((Tester) Tester.GreaterThan);
+
+        query.input.set(10);
+        assert compound.refinement() == Refinement.Narrowing;
+        query.input.set(20);
+        assert compound.refinement() == Refinement.Narrowing;
+        query.input.set(5);
+        assert compound.refinement() == Refinement.Widening;
+        query.tester.set((Tester) Tester.LessThan);
+        assert compound.refinement() == Refinement.Unknown;
+        query.input.set(3);
+        assert compound.refinement() == Refinement.Narrowing;
+    }
+
+    @Test
+    void refinementByRemoval() {
+        CompoundQuery<String> compound = new CompoundQuery();
+        Query<String, String> query = compound.addQuery("test");
+        query.tester.set(Tester.Contain);
+        query.input.set("a");
+
+        compound.removeQuery(query);
+        assert compound.refinement() == Refinement.Widening;
+    }
+
+    @Test
+    void containIgnoreCase() {
+        CompoundQuery<String> compound = new CompoundQuery();
+        Query<String, String> query = compound.addQuery("test");
+        query.input.set("AB");
+        query.tester.set(Tester.Contain);
+
+        assert compound.test("xaby");
+        assert compound.test("XABY");
+        assert compound.test("xay") == false;
+    }
+
+    @Test
+    void containManyTokens() {
+        CompoundQuery<String> compound = new CompoundQuery();
+        Query<String, String> query = compound.addQuery("test");
+        query.input.set("one two three four five");
+        query.tester.set(Tester.Contain);
+
+        assert compound.test("someone");
+        assert compound.test("TWOFOLD");
+        assert compound.test("fiver");
+        assert compound.test("thre") == false;
+        assert compound.test("") == false;
+    }
+
+    @Test
+    void memoize() {
+        int[] count = {0};
+        CompoundQuery<String> compound = new CompoundQuery();
+        Query<String, String> query = compound.addQuery("test", String.class, v -> {
+            count[0]++;
+            return v;
+        }).memoize();
+        query.input.set("a");
+        query.tester.set(Tester.Contain);
+
+        assert compound.test("abc");
+        assert compound.test("abc");
+        assert count[0] == 1;
+
+        compound.evict("abc");
+        assert compound.test("abc");
+        assert count[0] == 2;
+    }
+
+    @Test
+    void memoizeByIdentity() {
+        int[] count = {0};
+        CompoundQuery<String> compound = new CompoundQuery();
+        Query<String, String> query = compound.addQuery("test", String.class, v -> {
+            count[0]++;
+            return v;
+        }).memoize();
+        query.input.set("a");
+        query.tester.set(Tester.Contain);
+
+        String one = new String("abc");
+        String other = new String("abc");
+        assert compound.test(one);
+        assert compound.test(other);
+        assert count[0] == 2;
+
+        assert compound.test(one);
+        assert compound.test(other);
+        assert count[0] == 2;
+    }
+
+    @Test
+    void snapshot() {
+        CompoundQuery<String> compound = new CompoundQuery();
+        Query<String, String> query = compound.addQuery("test");
+        query.tester.set(Tester.Contain);
+        query.input.set("a");
+
+        Predicate<String> snapshot = compound.snapshot();
+        assert snapshot.test("abc");
+        assert snapshot.test("xyz") == false;
+
+        // the later modification doesn't affect the snapshot
+        query.input.set("x");
+        Query<String, String> other = compound.addQuery("other");
+        other.tester.set(Tester.Contain);
+        other.input.set("none");
+        assert snapshot.test("abc");
+        assert snapshot.test("xyz") == false;
+        assert compound.test("xyz") == false;
+    }
 }
\ No newline at end of file
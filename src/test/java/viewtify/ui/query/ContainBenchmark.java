@@ -10,26 +10,64 @@
 package viewtify.ui.query;
 
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import antibug.profiler.Benchmark;
 import net.bytebuddy.utility.RandomString;
+import viewtify.ui.query.CompoundQuery.Tester;
 
 public class ContainBenchmark {
 
     public static void main(String[] args) {
         Benchmark benchmark = new Benchmark();
 
-        String value = "abcdefghijklmn";
+        String[] values = new String[1024];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = RandomString.make(32);
+        }
+        int[] index = {0};
+
+        // single token
+        String single = "hijk";
 
         benchmark.measure("String.contains", () -> {
-            return RandomString.make(10).toLowerCase().contains("hijk".toLowerCase());
+            return values[index[0]++ & 1023].toLowerCase().contains(single);
         });
 
-        Pattern pattern = Pattern.compile(Pattern.quote("hijk"), Pattern.CASE_INSENSITIVE);
+        Pattern pattern = Pattern.compile(Pattern.quote(single), Pattern.CASE_INSENSITIVE);
         benchmark.measure("RegEx", () -> {
-            return pattern.matcher(RandomString.make(10)).find();
+            return pattern.matcher(values[index[0]++ & 1023]).find();
+        });
+
+        Tester tester = Tester.Contain;
+        Object tokens = tester.apply(single);
+        benchmark.measure("Region Match", () -> {
+            return tester.test(tokens, values[index[0]++ & 1023]);
+        });
+
+        // multiple tokens
+        String[] multiple = {"hijk", "abc", "xyz", "qwer", "mnop", "stu", "efgh", "ijkl"};
+
+        benchmark.measure("String.contains (8 tokens)", () -> {
+            String lower = values[index[0]++ & 1023].toLowerCase();
+            for (String token : multiple) {
+                if (lower.contains(token)) {
+                    return true;
+                }
+            }
+            return false;
+        });
+
+        Pattern alternation = Pattern.compile(Stream.of(multiple).map(Pattern::quote).collect(Collectors.joining("|")), Pattern.CASE_INSENSITIVE);
+        benchmark.measure("RegEx (8 tokens)", () -> {
+            return alternation.matcher(values[index[0]++ & 1023]).find();
+        });
+
+        Object automaton = tester.apply(String.join(" ", multiple));
+        benchmark.measure("Aho-Corasick (8 tokens)", () -> {
+            return tester.test(automaton, values[index[0]++ & 1023]);
         });
-        System.out.println(pattern.matcher(value).find());
 
         benchmark.perform();
     }
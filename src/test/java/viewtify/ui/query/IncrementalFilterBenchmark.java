@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2024 The VIEWTIFY Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package viewtify.ui.query;
+
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.Property;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+import antibug.profiler.Benchmark;
+import net.bytebuddy.utility.RandomString;
+import viewtify.ui.helper.CollectableHelper;
+import viewtify.ui.helper.ReferenceHolder;
+import viewtify.ui.query.CompoundQuery.Query;
+import viewtify.ui.query.CompoundQuery.Tester;
+
+class IncrementalFilterBenchmark {
+
+    public static void main(String[] args) {
+        Benchmark benchmark = new Benchmark();
+
+        Rows full = new Rows(200000);
+        String[] inputs = {"a", "ab", "abc", "ab"};
+        int[] fullIndex = {0};
+
+        benchmark.measure("Full Refilter", () -> {
+            String input = inputs[fullIndex[0]++ % inputs.length];
+            full.take(v -> v.contains(input));
+            return full.itemsProperty().getValue().size();
+        });
+
+        Rows incremental = new Rows(200000);
+        Query<String, String> query = incremental.query().addQuery("value");
+        query.tester.set(Tester.Contain);
+        int[] incrementalIndex = {0};
+
+        benchmark.measure("Incremental Refilter", () -> {
+            query.input.set(inputs[incrementalIndex[0]++ % inputs.length]);
+            return incremental.itemsProperty().getValue().size();
+        });
+
+        benchmark.perform();
+    }
+
+    /**
+     * Simple Implementation.
+     */
+    private static class Rows extends ReferenceHolder implements CollectableHelper<Rows, String> {
+
+        /** The actual list. */
+        private final ObjectProperty<ObservableList<String>> property = new SimpleObjectProperty(FXCollections.observableArrayList());
+
+        private Rows(int size) {
+            for (int i = 0; i < size; i++) {
+                property.getValue().add(RandomString.make(16).toLowerCase());
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Property<ObservableList<String>> itemsProperty() {
+            return property;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,213 @@
+/*
+ * Copyright (C) 2024 The VIEWTIFY Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package viewtify.update;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import viewtify.task.Monitor;
+
+class ArchiveExtractorTest {
+
+    @TempDir
+    Path temp;
+
+    @Test
+    void deflated() throws Exception {
+        Path archive = zip(false, "dir/deflated.txt", "deflated ".repeat(10000));
+
+        ArchiveExtractor.unpack(archive, temp.resolve("out"), monitor(new CopyOnWriteArrayList()));
+        assert Files.readString(temp.resolve("out/dir/deflated.txt")).equals("deflated ".repeat(10000));
+    }
+
+    @Test
+    void stored() throws Exception {
+        Path archive = zip(true, "stored.txt", "stored");
+
+        ArchiveExtractor.unpack(archive, temp.resolve("out"), monitor(new CopyOnWriteArrayList()));
+        assert Files.readString(temp.resolve("out/stored.txt")).equals("stored");
+    }
+
+    @Test
+    void emptyDirectory() throws Exception {
+        Path archive = temp.resolve("test.zip");
+        try (ZipOutputStream output = new ZipOutputStream(Files.newOutputStream(archive))) {
+            output.putNextEntry(new ZipEntry("empty/"));
+            output.closeEntry();
+        }
+
+        ArchiveExtractor.unpack(archive, temp.resolve("out"), monitor(new CopyOnWriteArrayList()));
+        assert Files.isDirectory(temp.resolve("out/empty"));
+    }
+
+    @Test
+    void mapByChunk() throws Exception {
+        String text = "chunked ".repeat(10000);
+
+        for (boolean stored : new boolean[] {true, false}) {
+            Path archive = zip(stored, "chunked.txt", text);
+            Path out = temp.resolve("out" + stored + "/chunked.txt");
+
+            try (ArchiveExtractor zip = new ArchiveExtractor(archive, 7)) {
+                zip.extract(zip.entries(), entry -> out, monitor(new CopyOnWriteArrayList()));
+                assert new String(zip.read(zip.entry("chunked.txt")), StandardCharsets.UTF_8).equals(text);
+            }
+            assert Files.readString(out).equals(text);
+        }
+    }
+
+    @Test
+    void read() throws Exception {
+        Path archive = zip(false, "text", "contents");
+
+        try (ArchiveExtractor zip = new ArchiveExtractor(archive)) {
+            assert new String(zip.read(zip.entry("text")), StandardCharsets.UTF_8).equals("contents");
+            assert zip.entry("none") == null;
+        }
+    }
+
+    @Test
+    void reportThroughput() throws Exception {
+        Path archive = zip(false, "text", "contents");
+        List<String> details = new CopyOnWriteArrayList();
+
+        ArchiveExtractor.unpack(archive, temp.resolve("out"), monitor(details));
+        assert details.isEmpty() == false;
+        assert details.getLast().contains("files/s");
+    }
+
+    @Test
+    void rejectOutsideEntry() throws Exception {
+        Path archive = zip(false, "../outside", "contents");
+
+        try {
+            ArchiveExtractor.unpack(archive, temp.resolve("out"), monitor(new CopyOnWriteArrayList()));
+            assert false;
+        } catch (IllegalArgumentException e) {
+            assert Files.notExists(temp.resolve("outside"));
+        }
+    }
+
+    @Test
+    void deletePartialOutput() throws Exception {
+        byte[] payload = "payload".getBytes(StandardCharsets.UTF_8);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        Path archive = temp.resolve("test.zip");
+        try (ZipOutputStream output = new ZipOutputStream(Files.newOutputStream(archive))) {
+            output.putNextEntry(new ZipEntry("valid.txt"));
+            output.write("valid ".repeat(1000).getBytes(StandardCharsets.UTF_8));
+            output.closeEntry();
+
+            ZipEntry entry = new ZipEntry("broken.txt");
+            entry.setMethod(ZipEntry.STORED);
+            entry.setSize(payload.length);
+            entry.setCrc(crc.getValue());
+            output.putNextEntry(entry);
+            output.write(payload);
+            output.closeEntry();
+        }
+        corrupt(archive, "payload", "PAYLOAD");
+
+        try (ArchiveExtractor zip = new ArchiveExtractor(archive)) {
+            zip.extract(zip.entries(), entry -> temp.resolve("out/" + entry.name), monitor(new CopyOnWriteArrayList()));
+            assert false;
+        } catch (ZipException e) {
+            assert Files.notExists(temp.resolve("out/valid.txt"));
+            assert Files.notExists(temp.resolve("out/broken.txt"));
+        }
+    }
+
+    @Test
+    void readStoredWithInvalidCRC() throws Exception {
+        Path archive = zip(true, "text", "contents");
+        corrupt(archive, "contents", "CONTENTS");
+
+        try (ArchiveExtractor zip = new ArchiveExtractor(archive)) {
+            zip.read(zip.entry("text"));
+            assert false;
+        } catch (ZipException e) {
+            assert e.getMessage().contains("CRC");
+        }
+    }
+
+    /**
+     * Replace the stored data in the archive.
+     * 
+     * @param archive
+     * @param from
+     * @param to
+     */
+    private void corrupt(Path archive, String from, String to) throws Exception {
+        byte[] bytes = Files.readAllBytes(archive);
+        byte[] target = from.getBytes(StandardCharsets.UTF_8);
+
+        for (int i = 0; i + target.length <= bytes.length; i++) {
+            if (Arrays.equals(bytes, i, i + target.length, target, 0, target.length)) {
+                System.arraycopy(to.getBytes(StandardCharsets.UTF_8), 0, bytes, i, target.length);
+                break;
+            }
+        }
+        Files.write(archive, bytes);
+    }
+
+    /**
+     * Create the monitor which records the details.
+     * 
+     * @param details
+     * @return
+     */
+    private Monitor monitor(List<String> details) {
+        return new Monitor(message -> {
+        }, progress -> {
+        }, (monitor, progress) -> {
+        }, details::add);
+    }
+
+    /**
+     * Create the archive which contains the single entry.
+     * 
+     * @param stored
+     * @param name
+     * @param text
+     * @return
+     */
+    private Path zip(boolean stored, String name, String text) throws Exception {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        Path archive = temp.resolve("test.zip");
+
+        try (ZipOutputStream output = new ZipOutputStream(Files.newOutputStream(archive))) {
+            ZipEntry entry = new ZipEntry(name);
+            if (stored) {
+                CRC32 crc = new CRC32();
+                crc.update(bytes);
+                entry.setMethod(ZipEntry.STORED);
+                entry.setSize(bytes.length);
+                entry.setCrc(crc.getValue());
+            }
+            output.putNextEntry(entry);
+            output.write(bytes);
+            output.closeEntry();
+        }
+        return archive;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,203 @@
+/*
+ * Copyright (C) 2024 The VIEWTIFY Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package viewtify.update;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import psychopath.Directory;
+import psychopath.Locator;
+import viewtify.task.Monitor;
+
+class DeltaUpdateTest {
+
+    @TempDir
+    Path temp;
+
+    @Test
+    void replaceChangedFilesOnly() throws Exception {
+        Path root = Files.createDirectories(temp.resolve("app"));
+        write(root.resolve("lib/same.jar"), "same");
+        write(root.resolve("lib/changed.jar"), "old");
+        write(root.resolve("lib/removed.jar"), "removed");
+        write(root.resolve("lib/plugin.jar"), "plugin");
+        write(root.resolve(DeltaUpdate.MANIFEST), sha("removed") + " lib/removed.jar");
+
+        Path archive = zip(Map.of("lib/same.jar", "same", "lib/changed.jar", "new", "lib/added.jar", "added"));
+        Directory staging = Locator.directory(temp.resolve("staging"));
+        Directory app = Locator.directory(root);
+
+        DeltaUpdate.prepare(Locator.file(archive), app, staging, monitor());
+        assert Files.notExists(temp.resolve("staging/lib/same.jar"));
+        assert Files.exists(temp.resolve("staging/lib/changed.jar"));
+        assert Files.exists(temp.resolve("staging/lib/added.jar"));
+
+        DeltaUpdate.install(staging, app, monitor());
+        assert read(root.resolve("lib/same.jar")).equals("same");
+        assert read(root.resolve("lib/changed.jar")).equals("new");
+        assert read(root.resolve("lib/added.jar")).equals("added");
+        assert Files.notExists(root.resolve("lib/removed.jar"));
+        assert read(root.resolve("lib/plugin.jar")).equals("plugin");
+        assert Files.notExists(root.resolve(DeltaUpdate.MANIFEST));
+        assert Files.notExists(temp.resolve("staging"));
+    }
+
+    @Test
+    void removeRootFileListedInInstalledManifest() throws Exception {
+        Path root = Files.createDirectories(temp.resolve("app"));
+        write(root.resolve("removed.dll"), "removed");
+        write(root.resolve("user.data"), "user");
+        write(root.resolve("lib/same.jar"), "same");
+        write(root.resolve(DeltaUpdate.MANIFEST), sha("removed") + " removed.dll\n" + sha("same") + " lib/same.jar");
+
+        Path archive = zip(Map.of("lib/same.jar", "same", DeltaUpdate.MANIFEST, sha("same") + " lib/same.jar"));
+        Directory staging = Locator.directory(temp.resolve("staging"));
+        Directory app = Locator.directory(root);
+
+        DeltaUpdate.prepare(Locator.file(archive), app, staging, monitor());
+        DeltaUpdate.install(staging, app, monitor());
+        assert Files.notExists(root.resolve("removed.dll"));
+        assert read(root.resolve("user.data")).equals("user");
+        assert read(root.resolve(DeltaUpdate.MANIFEST)).endsWith(" lib/same.jar");
+    }
+
+    @Test
+    void rollbackFailedInstallation() throws Exception {
+        Path root = Files.createDirectories(temp.resolve("app"));
+        write(root.resolve("lib/changed.jar"), "old");
+        write(root.resolve("lib/removed.jar"), "removed");
+        write(root.resolve("conflict"), "file");
+        write(root.resolve(DeltaUpdate.MANIFEST), sha("removed") + " lib/removed.jar");
+
+        Path archive = zip(Map.of("lib/changed.jar", "new", "lib/added.jar", "added", "conflict/inner.jar", "inner"));
+        Directory staging = Locator.directory(temp.resolve("staging"));
+        Directory app = Locator.directory(root);
+
+        DeltaUpdate.prepare(Locator.file(archive), app, staging, monitor());
+
+        // the regular file prevents to create the parent directory of the staged entry
+        try {
+            DeltaUpdate.install(staging, app, monitor());
+            assert false;
+        } catch (IOException e) {
+            // expected
+        }
+        assert read(root.resolve("lib/changed.jar")).equals("old");
+        assert read(root.resolve("lib/removed.jar")).equals("removed");
+        assert read(root.resolve("conflict")).equals("file");
+        assert Files.notExists(root.resolve("lib/added.jar"));
+        assert Files.notExists(root.resolve(DeltaUpdate.BACKUP));
+    }
+
+    @Test
+    void runnableUpdater() throws Exception {
+        Path root = Files.createDirectories(temp.resolve("app"));
+        write(root.resolve("app.exe"), "exe");
+        write(root.resolve("jre/bin/java"), "java");
+        write(root.resolve("lib/same.jar"), "same");
+        write(root.resolve("lib/changed.jar"), "old");
+
+        Path archive = zip(Map.of("app.exe", "exe", "jre/bin/java", "java", "lib/same.jar", "same", "lib/changed.jar", "new"));
+        Blueprint origin = new ExewrapBlueprint(root.toString(), "app.exe");
+        Blueprint updater = origin.updater();
+
+        DeltaUpdate.prepare(Locator.file(archive), origin, monitor());
+
+        // the updater is launched with its own JRE and all libraries
+        Path runtime = updater.root.asJavaPath();
+        assert read(updater.jre.asJavaPath().resolve("bin/java")).equals("java");
+        assert read(runtime.resolve("lib/same.jar")).equals("same");
+        assert read(runtime.resolve("lib/changed.jar")).equals("old");
+        assert Files.notExists(runtime.resolve(DeltaUpdate.STAGING));
+
+        // only the changed files are staged
+        Path staging = root.resolve(DeltaUpdate.STAGING);
+        assert Files.exists(staging.resolve("lib/changed.jar"));
+        assert Files.notExists(staging.resolve("lib/same.jar"));
+
+        // the installation doesn't touch the running updater
+        DeltaUpdate.install(origin, monitor());
+        assert read(root.resolve("lib/changed.jar")).equals("new");
+        assert read(runtime.resolve("lib/changed.jar")).equals("old");
+        assert Files.notExists(staging);
+    }
+
+    @Test
+    void manifest() throws Exception {
+        Path root = Files.createDirectories(temp.resolve("app"));
+        write(root.resolve("lib/same.jar"), "same");
+        DeltaUpdate.writeManifest(Locator.directory(root));
+
+        String manifest = read(root.resolve(DeltaUpdate.MANIFEST));
+        assert manifest.endsWith(" lib/same.jar");
+    }
+
+    /**
+     * Create the empty monitor.
+     * 
+     * @return
+     */
+    private Monitor monitor() {
+        return new Monitor(message -> {
+        }, progress -> {
+        }, (monitor, progress) -> {
+        });
+    }
+
+    /**
+     * Create the archive which contains the specified files.
+     * 
+     * @param files
+     * @return
+     */
+    private Path zip(Map<String, String> files) throws Exception {
+        Path archive = temp.resolve("app.zip");
+        try (ZipOutputStream output = new ZipOutputStream(Files.newOutputStream(archive))) {
+            for (Map.Entry<String, String> file : files.entrySet()) {
+                output.putNextEntry(new ZipEntry(file.getKey()));
+                output.write(file.getValue().getBytes(StandardCharsets.UTF_8));
+                output.closeEntry();
+            }
+        }
+        return archive;
+    }
+
+    /**
+     * Compute SHA-256 hash of the text.
+     * 
+     * @param text
+     * @return
+     */
+    private String sha(String text) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private void write(Path file, String text) throws Exception {
+        Files.createDirectories(file.getParent());
+        try (OutputStream output = Files.newOutputStream(file)) {
+            output.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private String read(Path file) throws Exception {
+        return Files.readString(file, StandardCharsets.UTF_8);
+    }
+}
\ No newline at end of file
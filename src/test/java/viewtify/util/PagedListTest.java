@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2024 The VIEWTIFY Development Team
+ *
+ * Licensed under the MIT License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          https://opensource.org/licenses/MIT
+ */
+package viewtify.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import javafx.collections.ListChangeListener;
+
+import org.junit.jupiter.api.Test;
+
+class PagedListTest {
+
+    @Test
+    void loadLazily() {
+        List<Integer> offsets = new ArrayList();
+        PagedList<Integer> list = new PagedList<Integer>(250, (offset, limit) -> {
+            offsets.add(offset);
+            return IntStream.range(offset, offset + limit).boxed().toList();
+        }).pageSize(100);
+
+        assert list.size() == 250;
+        assert offsets.isEmpty();
+        assert list.isLoaded(0) == false;
+
+        // placeholder
+        assert list.get(0) == null;
+        assert list.isLoaded(0);
+        assert list.get(0) == 0;
+        assert list.get(99) == 99;
+        assert list.isLoaded(100) == false;
+
+        assert list.get(249) == null;
+        assert list.get(249) == 249;
+        assert offsets.equals(List.of(0, 200));
+    }
+
+    @Test
+    void placeholder() {
+        PagedList<String> list = new PagedList<String>(10, (offset, limit) -> null).placeholder(index -> "loading " + index);
+
+        assert list.get(3).equals("loading 3");
+    }
+
+    @Test
+    void evictLeastRecentlyUsedPage() {
+        List<Integer> offsets = new ArrayList();
+        PagedList<Integer> list = new PagedList<Integer>(100, (offset, limit) -> {
+            offsets.add(offset);
+            return IntStream.range(offset, offset + limit).boxed().toList();
+        }).pageSize(10).cacheSize(2);
+
+        list.get(0);
+        list.get(10);
+        list.get(20);
+        assert list.isLoaded(0) == false;
+        assert list.isLoaded(10);
+        assert list.isLoaded(20);
+    }
+
+    @Test
+    void failedPageIsNotRequestedRepeatedly() {
+        List<Integer> offsets = new ArrayList();
+        PagedList<Integer> list = new PagedList<Integer>(30, (offset, limit) -> {
+            offsets.add(offset);
+            throw new IllegalStateException();
+        }).pageSize(10);
+
+        assert list.get(0) == null;
+        assert list.get(1) == null;
+        assert list.get(2) == null;
+        assert list.isLoaded(0) == false;
+        assert offsets.equals(List.of(0));
+    }
+
+    @Test
+    void nullPageIsNotRequestedRepeatedly() {
+        List<Integer> offsets = new ArrayList();
+        PagedList<Integer> list = new PagedList<Integer>(30, (offset, limit) -> {
+            offsets.add(offset);
+            return null;
+        }).pageSize(10);
+
+        list.get(0);
+        list.get(1);
+        assert list.isLoaded(0) == false;
+        assert offsets.equals(List.of(0));
+    }
+
+    @Test
+    void notifyLoadedItems() {
+        PagedList<Integer> list = new PagedList<Integer>(30, (offset, limit) -> IntStream.range(offset, offset + limit).boxed().toList())
+                .pageSize(10);
+
+        List<Integer> replaced = new ArrayList();
+        list.addListener((ListChangeListener<Integer>) c -> {
+            while (c.next()) {
+                if (c.wasReplaced()) replaced.add(c.getFrom());
+            }
+        });
+
+        list.get(15);
+        assert replaced.get(0) == 10;
+    }
+
+    @Test
+    void reset() {
+        PagedList<Integer> list = new PagedList<Integer>(30, (offset, limit) -> IntStream.range(offset, offset + limit).boxed().toList());
+        list.get(0);
+        assert list.isLoaded(0);
+
+        list.reset(50);
+        assert list.size() == 50;
+        assert list.isLoaded(0) == false;
+    }
+}
\ No newline at end of file